@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# 量測冷啟動：從啟動到第一個請求成功的時間，以及當下的 RSS。
+# 用法：benchmarks/startup.sh <次數> <url> <啟動指令...>
+#   benchmarks/startup.sh 5 http://localhost:8080/api/portfolio java -jar target/demo-0.0.1-SNAPSHOT.jar
+# 量測容器時設定 CONTAINER=<名稱>（啟動指令要用 docker run --name <名稱>），RSS 改由 docker stats 取得。
+set -euo pipefail
+
+runs=$1
+url=$2
+shift 2
+
+times=()
+for ((i = 1; i <= runs; i++)); do
+  start=$(date +%s%N)
+  "$@" > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "process exited before serving $url" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  if [[ -n "${CONTAINER:-}" ]]; then
+    rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$CONTAINER" | cut -d/ -f1)
+    docker stop "$CONTAINER" > /dev/null
+  else
+    rss="$(( $(awk '/VmRSS/ {print $2}' /proc/$pid/status) / 1024 ))MiB"
+  fi
+  kill "$pid" 2> /dev/null || true
+  wait "$pid" 2> /dev/null || true
+  echo "run $i: ${ms} ms, RSS ${rss}"
+  times+=("$ms")
+done
+
+median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{a[NR] = $1} END {print a[int((NR + 1) / 2)]}')
+echo "median time to first request: ${median} ms"
@@ -0,0 +1,32 @@
+package com.example.demo.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 基準測試用的假資料 */
+final class BenchData {
+
+    private static final String[] TECHNOLOGIES = {"React", "Spring Boot", "PostgreSQL", "Docker", "Tailwind CSS",
+            "TypeScript", "Vite", "Redis", "Kubernetes", "Python", "Go", "AWS"};
+
+    private static final String SENTENCE = "以 Spring Boot 與 React 打造的作品，包含 REST API、資料庫設計與 CI/CD 自動化部署。";
+
+    private BenchData() {}
+
+    /** 約 length 個字元的中英混合文字 */
+    static String text(int length) {
+        StringBuilder sb = new StringBuilder(length + SENTENCE.length());
+        while (sb.length() < length) {
+            sb.append(SENTENCE);
+        }
+        return sb.substring(0, length);
+    }
+
+    static List<String> technologies(int seed, int count) {
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(TECHNOLOGIES[(seed + i * 5) % TECHNOLOGIES.length]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 比較兩次 JMH 結果（-rf json 的輸出），列出每個 benchmark 的變化；變慢超過門檻時以非 0 結束。
+ * mvn -Pjmh test-compile exec:exec -Djmh.main=com.example.demo.bench.CompareResults \
+ *     -Djmh.args="benchmarks/results/abc1234.json benchmarks/results/def5678.json"
+ */
+public final class CompareResults {
+
+    /** 超過 10% 視為退步（JMH 的誤差通常在幾 % 以內） */
+    private static final double THRESHOLD = 0.10;
+
+    private CompareResults() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: CompareResults <before.json> <after.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> before = load(args[0]);
+        Map<String, JsonNode> after = load(args[1]);
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "benchmark", "before", "after", "change");
+        for (Map.Entry<String, JsonNode> e : after.entrySet()) {
+            JsonNode old = before.get(e.getKey());
+            double now = e.getValue().path("primaryMetric").path("score").asDouble();
+            String unit = e.getValue().path("primaryMetric").path("scoreUnit").asText();
+            if (old == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", e.getKey(), "-", now, "new", unit);
+                continue;
+            }
+            double was = old.path("primaryMetric").path("score").asDouble();
+            double change = (now - was) / was;
+            // AverageTime 越大越差；Throughput 越小越差
+            boolean worse = unit.endsWith("/op") ? change > THRESHOLD : change < -THRESHOLD;
+            if (worse) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    e.getKey(), was, now, change * 100, unit, worse ? "  <-- regression" : "");
+        }
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /** key = benchmark 名稱 + 參數 */
+    private static Map<String, JsonNode> load(String path) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(new File(path))) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> p = params.next();
+                key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText());
+            }
+            results.put(key.toString(), run);
+        }
+        return results;
+    }
+}
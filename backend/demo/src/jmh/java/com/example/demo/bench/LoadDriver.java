@@ -0,0 +1,323 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.metrics.LatencyHistogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 開放模型（open model）的負載產生器：請求依固定到達率（指數分布的間隔）送出，不等前一個回應，
+ * 延遲從「預定送出時間」起算，伺服器變慢時排隊的時間也會算進去（避免 coordinated omission）。
+ * <p>
+ * 沒有指定 url 時會在同一個 JVM 啟動應用程式，資料庫用 H2 的 PostgreSQL 相容模式代替；
+ * 先以 DatasetGenerator 產生資料並透過 /api/admin/import 匯入，暖機後開始量測。
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.main=com.example.demo.bench.LoadDriver \
+ *     -Djmh.args="scale=10 rate=300 duration=60"
+ * </pre>
+ * 參數：url、scale（與 DatasetGenerator 相同的數量參數）、rate（每秒請求數）、duration / warmup（秒）、
+ * putRatio（寫入比例）、revalidate（GET 帶 If-None-Match 的比例）、maxInFlight（超過就記為 dropped）。
+ * 每條 SQL 的統計取自應用程式的 /api/metrics（portfolio_http_sql_statements），量測前後相減。
+ */
+public final class LoadDriver {
+
+    private static final Pattern SQL_METRIC = Pattern.compile(
+            "^portfolio_http_sql_statements_(sum|count)\\{endpoint=\"([^\"]+)\"} (\\d+)$", Pattern.MULTILINE);
+
+    /** 一種請求；weight 是在同類（讀或寫）中的相對比例 */
+    private record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest.Builder> request) {}
+
+    /** 每種請求的結果 */
+    private static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final DatasetGenerator.Volumes volumes;
+    private final List<Operation> reads = new ArrayList<>();
+    private final List<Operation> writes = new ArrayList<>();
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+    private final double putRatio;
+    private final double revalidate;
+    private final int maxInFlight;
+
+    private LoadDriver(HttpClient client, String baseUrl, DatasetGenerator.Volumes volumes,
+                       double putRatio, double revalidate, int maxInFlight) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.volumes = volumes;
+        this.putRatio = putRatio;
+        this.revalidate = revalidate;
+        this.maxInFlight = maxInFlight;
+        defineMix();
+    }
+
+    /** 依前台頁面的實際呼叫大致估計：首頁一次拿整份 portfolio，其次是專案列表與單一專案 */
+    private void defineMix() {
+        reads.add(new Operation("GET /api/portfolio", 20, r -> get("/api/portfolio")));
+        reads.add(new Operation("GET /api/projects?limit", 15, r -> get("/api/projects?limit=20")));
+        reads.add(new Operation("GET /api/projects/{id}", 15, r -> get("/api/projects/" + id(r, volumes.projects()))));
+        reads.add(new Operation("GET /api/projects?tech", 5, r -> get("/api/projects?tech="
+                + URLEncoder.encode(DatasetGenerator.technology(r), StandardCharsets.UTF_8))));
+        reads.add(new Operation("GET /api/skills", 10, r -> get("/api/skills")));
+        reads.add(new Operation("GET /api/categories", 10, r -> get("/api/categories")));
+        reads.add(new Operation("GET /api/experiences", 5, r -> get("/api/experiences")));
+        reads.add(new Operation("GET /api/activities?view=summary", 5, r -> get("/api/activities?view=summary")));
+        reads.add(new Operation("GET /api/introduction", 5, r -> get("/api/introduction")));
+        reads.add(new Operation("GET /api/search", 10, r -> get("/api/search?q="
+                + URLEncoder.encode(r.nextBoolean() ? "spring" : "資料", StandardCharsets.UTF_8))));
+
+        writes.add(new Operation("PUT /api/skills/{id}", 2, r -> {
+            long skillId = id(r, volumes.skills());
+            long categoryId = (skillId - 1) / volumes.skillsPerCategory() + 1;
+            return put("/api/skills/" + skillId, "{\"name\":\"Skill " + skillId + "-" + r.nextInt(1000)
+                    + "\",\"description\":\"updated\",\"categoryId\":" + categoryId + "}");
+        }));
+        writes.add(new Operation("PUT /api/projects/{id}", 1, r -> {
+            long projectId = id(r, volumes.projects());
+            return put("/api/projects/" + projectId, "{\"name\":\"Project " + projectId + "-" + r.nextInt(1000)
+                    + "\",\"description\":\"updated\",\"technologies\":[\"React\",\"Spring Boot\"],\"year\":\"2025\"}");
+        }));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder put(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static long id(ThreadLocalRandom r, int max) {
+        return 1 + r.nextInt(max);
+    }
+
+    private static Operation pick(List<Operation> ops, ThreadLocalRandom r) {
+        int total = ops.stream().mapToInt(Operation::weight).sum();
+        int n = r.nextInt(total);
+        for (Operation op : ops) {
+            n -= op.weight();
+            if (n < 0) {
+                return op;
+            }
+        }
+        return ops.get(ops.size() - 1);
+    }
+
+    void importDataset(long seed) throws IOException, InterruptedException {
+        Path file = Files.createTempFile("portfolio-dataset", ".ndjson");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                new DatasetGenerator(volumes, seed).write(out);
+            }
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/import?replace=true"))
+                            .header("Content-Type", "application/x-ndjson")
+                            .POST(HttpRequest.BodyPublishers.ofFile(file))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Import failed: " + response.statusCode() + " " + response.body());
+            }
+            System.out.printf("Imported %s (%d KB): %s%n", volumes, Files.size(file) / 1024, response.body());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** 依到達率送出請求 seconds 秒，回傳每種請求的統計與未送出（超過 maxInFlight）的數量 */
+    Map<String, Stats> run(double rate, int seconds, LongAdder dropped) throws InterruptedException {
+        Map<String, Stats> stats = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        double intended = start;
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        while (true) {
+            intended += -Math.log(1 - r.nextDouble()) / rate * 1e9;
+            long scheduled = (long) intended;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+            Operation op = pick(r.nextDouble() < putRatio ? writes : reads, r);
+            Stats s = stats.computeIfAbsent(op.name(), k -> new Stats());
+            HttpRequest.Builder builder = op.request().apply(r);
+            String uri = builder.build().uri().toString();
+            String etag = etags.get(uri);
+            if (etag != null && r.nextDouble() < revalidate) {
+                builder.header("If-None-Match", etag);
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        s.latency.recordNanos(System.nanoTime() - scheduled);
+                        inFlight.decrementAndGet();
+                        if (error != null || response.statusCode() >= 400) {
+                            s.errors.increment();
+                            return;
+                        }
+                        if (response.statusCode() == 304) {
+                            s.notModified.increment();
+                        }
+                        response.headers().firstValue("ETag").ifPresent(v -> etags.put(uri, v));
+                    });
+        }
+        // 等還在路上的請求回來，最多 30 秒
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    /** endpoint -> {sum, count}，來自 /api/metrics */
+    Map<String, long[]> scrapeSqlStatements() throws IOException, InterruptedException {
+        String body = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/metrics")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Map<String, long[]> result = new TreeMap<>();
+        Matcher m = SQL_METRIC.matcher(body);
+        while (m.find()) {
+            long[] v = result.computeIfAbsent(m.group(2), k -> new long[2]);
+            v[m.group(1).equals("sum") ? 0 : 1] = Long.parseLong(m.group(3));
+        }
+        return result;
+    }
+
+    static void report(Map<String, Stats> stats, int seconds, long dropped,
+                       Map<String, long[]> sqlBefore, Map<String, long[]> sqlAfter) {
+        System.out.printf("%n%-36s %8s %8s %6s %6s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "err", "304", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        long errors = 0;
+        LatencyHistogram all = new LatencyHistogram();
+        for (Map.Entry<String, Stats> e : new TreeMap<>(stats).entrySet()) {
+            LatencyHistogram h = e.getValue().latency;
+            total += h.count();
+            errors += e.getValue().errors.sum();
+            System.out.printf(Locale.ROOT, "%-36s %8d %8.1f %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.getKey(), h.count(), h.count() / (double) seconds, e.getValue().errors.sum(),
+                    e.getValue().notModified.sum(), ms(h.percentile(0.5)), ms(h.percentile(0.9)),
+                    ms(h.percentile(0.99)), ms(h.percentile(0.999)), ms(h.maxMicros()));
+        }
+        System.out.printf(Locale.ROOT, "%nTotal %d requests in %ds (%.1f req/s), %d errors, %d dropped%n",
+                total, seconds, total / (double) seconds, errors, dropped);
+
+        System.out.printf("%n%-40s %10s %14s%n", "endpoint", "requests", "SQL/request");
+        for (Map.Entry<String, long[]> e : sqlAfter.entrySet()) {
+            long[] before = sqlBefore.getOrDefault(e.getKey(), new long[2]);
+            long count = e.getValue()[1] - before[1];
+            if (count == 0 || e.getKey().contains("/api/admin") || e.getKey().contains("/api/metrics")) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%-40s %10d %14.2f%n",
+                    e.getKey(), count, (e.getValue()[0] - before[0]) / (double) count);
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "portfolio.request-log.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DatasetGenerator.parseArgs(args);
+        if (!options.containsKey("scale")) {
+            options.put("scale", "10");
+        }
+        DatasetGenerator.Volumes volumes = DatasetGenerator.Volumes.from(options);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+
+        ConfigurableApplicationContext context = null;
+        String url = options.get("url");
+        if (url == null) {
+            context = startApplication();
+            url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            LoadDriver driver = new LoadDriver(client, url, volumes,
+                    Double.parseDouble(options.getOrDefault("putRatio", "0.05")),
+                    Double.parseDouble(options.getOrDefault("revalidate", "0.5")),
+                    Integer.parseInt(options.getOrDefault("maxInFlight", "1000")));
+            driver.importDataset(Long.parseLong(options.getOrDefault("seed", "42")));
+
+            System.out.printf("Warmup %ds at %.0f req/s against %s%n", warmup, rate, url);
+            driver.run(rate, warmup, new LongAdder());
+            Map<String, long[]> sqlBefore = driver.scrapeSqlStatements();
+            System.out.printf("Measuring %ds at %.0f req/s%n", duration, rate);
+            LongAdder dropped = new LongAdder();
+            Map<String, Stats> stats = driver.run(rate, duration, dropped);
+            report(stats, duration, dropped.sum(), sqlBefore, driver.scrapeSqlStatements());
+        } finally {
+            executor.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+}
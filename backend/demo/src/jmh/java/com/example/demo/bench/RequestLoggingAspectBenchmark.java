@@ -0,0 +1,93 @@
+package com.example.demo.bench;
+
+import com.example.demo.aspect.RequestLoggingAspect;
+import com.example.demo.controller.BenchmarkTargetController;
+import com.example.demo.logging.RequestLogProperties;
+import com.example.demo.logging.RequestLogWriter;
+import com.example.demo.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestLoggingAspect 每次呼叫的額外成本：
+ * direct（不經代理）、disabled（有代理但關閉記錄）、enabled（實際放進非同步緩衝區）三者相減即為代理與記錄的成本。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingAspectBenchmark {
+
+    private static final Map<String, Object> BODY = Map.of(
+            "name", "Spring Boot",
+            "description", BenchData.text(400),
+            "password", "secret");
+
+    private BenchmarkTargetController direct;
+    private BenchmarkTargetController disabled;
+    private BenchmarkTargetController enabled;
+    private RequestLogWriter writer;
+    private Path logDir;
+
+    @Setup
+    public void setup() throws IOException {
+        logDir = Files.createTempDirectory("request-log-bench");
+        direct = new BenchmarkTargetController();
+
+        RequestLogProperties off = new RequestLogProperties();
+        off.setEnabled(false);
+        disabled = proxy(off, new RequestLogWriter(off, new MetricsRegistry()));
+
+        RequestLogProperties on = new RequestLogProperties();
+        on.setFile(logDir.resolve("requests.jsonl").toString());
+        writer = new RequestLogWriter(on, new MetricsRegistry());
+        writer.start();
+        enabled = proxy(on, writer);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.stop();
+        System.out.printf("%nrequest log: enqueued=%d dropped=%d written=%d%n",
+                writer.getEnqueued(), writer.getDropped(), writer.getWritten());
+        try (var files = Files.walk(logDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static BenchmarkTargetController proxy(RequestLogProperties props, RequestLogWriter writer) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/skills/1");
+        request.setRemoteAddr("203.0.113.7");
+        RequestLoggingAspect aspect = new RequestLoggingAspect(writer, props);
+        ReflectionTestUtils.setField(aspect, "request", request);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BenchmarkTargetController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public String direct() {
+        return direct.update(1L, BODY);
+    }
+
+    @Benchmark
+    public String disabled() {
+        return disabled.update(1L, BODY);
+    }
+
+    @Benchmark
+    public String enabled() {
+        return enabled.update(1L, BODY);
+    }
+}
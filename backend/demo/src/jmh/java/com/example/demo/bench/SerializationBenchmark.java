@@ -0,0 +1,67 @@
+package com.example.demo.bench;
+
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.Skill;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson 序列化成本：分類（含巢狀技能）與專案（含 technologies），資料量接近實際網站的規模與 10 倍規模。
+ * ObjectMapper 的設定與 Spring Boot 預設相同。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /** 1 = 目前網站的資料量；10 = 十倍 */
+    @Param({"1", "10"})
+    public int scale;
+
+    private ObjectMapper mapper;
+    private List<Category> categories;
+    private List<Project> projects;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        categories = new ArrayList<>();
+        long skillId = 1;
+        for (int c = 0; c < 8 * scale; c++) {
+            Category category = new Category("Category " + c);
+            category.setId((long) c + 1);
+            for (int s = 0; s < 12; s++) {
+                Skill skill = new Skill("Skill " + c + "-" + s, BenchData.text(120), category);
+                skill.setId(skillId++);
+                category.getSkills().add(skill);
+            }
+            categories.add(category);
+        }
+        projects = new ArrayList<>();
+        for (int p = 0; p < 30 * scale; p++) {
+            projects.add(new Project((long) p + 1, "Project " + p, BenchData.text(600),
+                    new ArrayList<>(BenchData.technologies(p, 6)),
+                    "/api/images/" + "a".repeat(64) + ".png", "2024", "https://github.com/example/project-" + p));
+        }
+    }
+
+    @Benchmark
+    public byte[] categoriesWithSkills() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(categories);
+    }
+
+    @Benchmark
+    public byte[] projectsWithTechnologies() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(projects);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Skill;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.service.SkillService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkillService.create / update 的完整路徑（查分類、寫入、commit 後更新 ReadModel 等快取），
+ * 資料庫用 H2 的 PostgreSQL 相容模式代替，所以只適合比較前後版本，不代表正式環境的絕對數字。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillServiceBenchmark {
+
+    /** 既有的分類數，每個分類 20 個技能 */
+    @Param({"10"})
+    public int categories;
+
+    private ConfigurableApplicationContext context;
+    private SkillService skillService;
+    private Long categoryId;
+    private Long skillId;
+    private long counter;
+
+    @Setup
+    public void setup() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "portfolio.request-log.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        skillService = context.getBean(SkillService.class);
+        CategoryRepository categoryRepo = context.getBean(CategoryRepository.class);
+        for (int c = 0; c < categories; c++) {
+            Category category = new Category("Category " + c);
+            for (int s = 0; s < 20; s++) {
+                category.getSkills().add(new Skill("Skill " + c + "-" + s, BenchData.text(120), category));
+            }
+            categoryId = categoryRepo.save(category).getId();
+        }
+        skillId = skillService.create("Benchmark", BenchData.text(120), categoryId).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Skill create() {
+        return skillService.create("New skill " + counter++, BenchData.text(120), categoryId);
+    }
+
+    @Benchmark
+    public void update() {
+        skillService.update(skillId, "Renamed " + counter++, BenchData.text(120), categoryId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.controller;
+
+import java.util.Map;
+
+/**
+ * 給 RequestLoggingAspectBenchmark 用的假 Controller：放在 controller 套件裡才會符合切面的 pointcut。
+ * 不是 Spring bean，不會被掃描註冊。
+ */
+public class BenchmarkTargetController {
+
+    public String update(Long id, Map<String, Object> body) {
+        return body.isEmpty() ? null : "ok";
+    }
+}
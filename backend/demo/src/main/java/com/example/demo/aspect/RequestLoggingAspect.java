@@ -1,14 +1,19 @@
 package com.example.demo.aspect;
 
+import com.example.demo.logging.RequestLogEvent;
+import com.example.demo.logging.RequestLogProperties;
+import com.example.demo.logging.RequestLogWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 @Aspect
 @Component
@@ -17,11 +22,32 @@ public class RequestLoggingAspect {
     @Autowired
     private HttpServletRequest request;
 
+    private final RequestLogWriter writer;
+    private final RequestLogProperties props;
+    private final Set<String> redacted;
+
+    public RequestLoggingAspect(RequestLogWriter writer, RequestLogProperties props) {
+        this.writer = writer;
+        this.props = props;
+        this.redacted = props.getRedactedFields().stream()
+                .map(f -> f.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     @Pointcut("execution(* com.example.demo.controller..*(..))")
     public void controllerMethods() {}
 
     @Before("controllerMethods()")
     public void logRequestInfo(JoinPoint joinPoint) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        // 取樣：只記錄一部分請求
+        double rate = props.getSampleRate();
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return;
+        }
+
         // 取得請求資訊
         String ip = request.getHeader("X-Forwarded-For");
         if (ip == null || ip.isEmpty()) {
@@ -33,21 +59,64 @@ public class RequestLoggingAspect {
             ip = "127.0.0.1";
         }
 
-        String uri = request.getRequestURI();
-        String method = request.getMethod();
-        String args = Arrays.toString(joinPoint.getArgs());
-        String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
-        String calledMethod = joinPoint.getSignature().toShortString();
-
-        // 輸出記錄
-        System.out.println("====================");
-        System.out.println("Time: " + timestamp);
-        System.out.println("Method: " + method + " " + uri);
-        System.out.println("Call: " + calledMethod);
-        System.out.println("Args: " + args);
-        System.out.println("IP: " + ip);
-        System.out.println("====================");        
+        // 只放進緩衝區，格式化與寫檔交給背景執行緒
+        writer.offer(new RequestLogEvent(
+                System.currentTimeMillis(),
+                request.getMethod(),
+                request.getRequestURI(),
+                joinPoint.getSignature().toShortString(),
+                summarize(joinPoint.getArgs()),
+                ip));
+    }
+
+    /** 參數只留簡短摘要：字串截斷、Map 遮蔽敏感欄位、entity 只記類別名稱 */
+    private String summarize(Object[] args) {
+        if (args.length == 0) {
+            return "[]";
+        }
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            appendArg(sb, args[i]);
+        }
+        return sb.append(']').toString();
     }
-}
 
+    private void appendArg(StringBuilder sb, Object arg) {
+        if (arg == null || arg instanceof Number || arg instanceof Boolean) {
+            sb.append(arg);
+        } else if (arg instanceof CharSequence s) {
+            appendTruncated(sb, s);
+        } else if (arg instanceof Map<?, ?> map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                String key = String.valueOf(e.getKey());
+                sb.append(key).append('=');
+                if (redacted.contains(key.toLowerCase(Locale.ROOT))) {
+                    sb.append("***");
+                } else {
+                    appendArg(sb, e.getValue());
+                }
+            }
+            sb.append('}');
+        } else {
+            sb.append(arg.getClass().getSimpleName());
+        }
+    }
 
+    private void appendTruncated(StringBuilder sb, CharSequence s) {
+        int max = props.getMaxArgLength();
+        if (s.length() <= max) {
+            sb.append(s);
+        } else {
+            sb.append(s, 0, max).append("…(").append(s.length()).append(')');
+        }
+    }
+}
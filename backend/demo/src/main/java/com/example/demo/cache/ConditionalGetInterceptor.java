@@ -0,0 +1,82 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.Section;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * GET /api/{section}/** 的條件式請求處理。
+ * ETag 由區塊版本號產生，不需要先查資料或序列化；If-None-Match 命中時直接回 304，
+ * Controller、Service、資料庫與 Jackson 都不會被呼叫。
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String PORTFOLIO = "portfolio";
+
+    private final SectionVersions versions;
+    private final HttpCacheProperties props;
+
+    public ConditionalGetInterceptor(SectionVersions versions, HttpCacheProperties props) {
+        this.versions = versions;
+        this.props = props;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!props.isEnabled()) {
+            return true;
+        }
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        String key = sectionKey(request.getRequestURI().substring(request.getContextPath().length()));
+        String etag;
+        if (PORTFOLIO.equals(key)) {
+            etag = versions.portfolioEtag();
+        } else {
+            Section section = Section.fromKey(key);
+            if (section == null) {
+                return true;
+            }
+            etag = versions.etag(section);
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, props.policyFor(key).toHeader());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    /** /api/projects/3 → projects */
+    public static String sectionKey(String path) {
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        int end = path.indexOf('/', 5);
+        return end < 0 ? path.substring(5) : path.substring(5, end);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
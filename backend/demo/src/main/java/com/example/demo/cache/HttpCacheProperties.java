@@ -0,0 +1,65 @@
+package com.example.demo.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GET /api/** 的 HTTP 快取設定（application.properties 的 portfolio.http-cache.*）。
+ */
+@ConfigurationProperties(prefix = "portfolio.http-cache")
+public class HttpCacheProperties {
+
+    /** 是否送出 ETag / Cache-Control 並處理 If-None-Match */
+    private boolean enabled = true;
+
+    /** 沒有個別設定的區塊使用的快取策略 */
+    private Policy defaults = new Policy();
+
+    /** 依區塊 key 覆寫，例如 portfolio.http-cache.sections.projects.max-age=5m */
+    private Map<String, Policy> sections = new HashMap<>();
+
+    /** 瀏覽器快取 CORS preflight（OPTIONS）結果的時間 */
+    private Duration corsMaxAge = Duration.ofHours(1);
+
+    public Policy policyFor(String key) {
+        return sections.getOrDefault(key, defaults);
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Policy getDefaults() { return defaults; }
+    public void setDefaults(Policy defaults) { this.defaults = defaults; }
+
+    public Map<String, Policy> getSections() { return sections; }
+    public void setSections(Map<String, Policy> sections) { this.sections = sections; }
+
+    public Duration getCorsMaxAge() { return corsMaxAge; }
+    public void setCorsMaxAge(Duration corsMaxAge) { this.corsMaxAge = corsMaxAge; }
+
+    public static class Policy {
+        /** 0 代表每次都要用 ETag 回來驗證（no-cache） */
+        private Duration maxAge = Duration.ZERO;
+        private Duration staleWhileRevalidate = Duration.ZERO;
+
+        public String toHeader() {
+            if (maxAge.isZero() && staleWhileRevalidate.isZero()) {
+                return "no-cache";
+            }
+            StringBuilder sb = new StringBuilder("public, max-age=").append(maxAge.toSeconds());
+            if (!staleWhileRevalidate.isZero()) {
+                sb.append(", stale-while-revalidate=").append(staleWhileRevalidate.toSeconds());
+            }
+            return sb.toString();
+        }
+
+        public Duration getMaxAge() { return maxAge; }
+        public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+        public Duration getStaleWhileRevalidate() { return staleWhileRevalidate; }
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) { this.staleWhileRevalidate = staleWhileRevalidate; }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.cache;
+
+import com.example.demo.datasource.ReplicaRoutingDataSource;
+import com.example.demo.entity.Activity;
+import com.example.demo.entity.Award;
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Certification;
+import com.example.demo.entity.Education;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.Skill;
+import com.example.demo.entity.WorkExperience;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.ActivityRepository;
+import com.example.demo.repository.AwardRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.CertificationRepository;
+import com.example.demo.repository.EducationRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.SkillRepository;
+import com.example.demo.repository.WorkExperienceRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 各區塊的記憶體讀取模型：啟動時整批載入，之後只在 Service 寫入 commit 後更新。
+ * 讀取（listAll / findAll / getById）完全不碰資料庫。
+ *
+ * 注意：這裡的 entity 是共用且 detached 的物件，只能讀；要修改請從 repository 重新取得。
+ */
+@Component
+public class ReadModel implements SmartInitializingSingleton {
+
+    private final Map<Section, Binding<?>> bindings = new EnumMap<>(Section.class);
+    private final TransactionTemplate tx;
+
+    private final SectionStore<Project> projects = new SectionStore<>(Project::getId);
+    private final SectionStore<Skill> skills = new SectionStore<>(Skill::getId);
+    private final SectionStore<Category> categories = new SectionStore<>(Category::getId);
+    private final SectionStore<Education> educations = new SectionStore<>(Education::getId);
+    private final SectionStore<WorkExperience> experiences = new SectionStore<>(WorkExperience::getId);
+    private final SectionStore<Award> awards = new SectionStore<>(Award::getId);
+    private final SectionStore<Certification> certifications = new SectionStore<>(Certification::getId);
+    private final SectionStore<Activity> activities = new SectionStore<>(Activity::getId);
+
+    public ReadModel(ProjectRepository projectRepo,
+                     SkillRepository skillRepo,
+                     CategoryRepository categoryRepo,
+                     EducationRepository educationRepo,
+                     WorkExperienceRepository experienceRepo,
+                     AwardRepository awardRepo,
+                     CertificationRepository certificationRepo,
+                     ActivityRepository activityRepo,
+                     PlatformTransactionManager txManager) {
+        // 有集合的區塊用 entity graph 一次 join 取回，離開 session 後才能直接序列化
+        bind(Section.PROJECTS, projects, projectRepo::findAllWithTechnologiesBy, projectRepo::findWithTechnologiesById);
+        bind(Section.SKILLS, skills, skillRepo::findAllWithCategoryBy, skillRepo::findById);
+        bind(Section.CATEGORIES, categories, categoryRepo::findAllWithSkillsBy, categoryRepo::findWithSkillsById);
+        bind(Section.EDUCATIONS, educations, educationRepo::findAll, educationRepo::findById);
+        bind(Section.EXPERIENCES, experiences, experienceRepo::findAll, experienceRepo::findById);
+        bind(Section.AWARDS, awards, awardRepo::findAll, awardRepo::findById);
+        bind(Section.CERTIFICATIONS, certifications, certificationRepo::findAll, certificationRepo::findById);
+        bind(Section.ACTIVITIES, activities, activityRepo::findAll, activityRepo::findById);
+
+        // commit 之後才會呼叫，所以一律開新的交易讀取；有唯讀副本時也固定讀主資料庫，副本可能還沒追上
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tx.setReadOnly(true);
+    }
+
+    private <T> void bind(Section section, SectionStore<T> store,
+                          Supplier<List<T>> loadAll, Function<Long, Optional<T>> loadOne) {
+        bindings.put(section, new Binding<>(store, loadAll, loadOne));
+    }
+
+    public SectionStore<Project> projects() { return projects; }
+    public SectionStore<Skill> skills() { return skills; }
+    public SectionStore<Category> categories() { return categories; }
+    public SectionStore<Education> educations() { return educations; }
+    public SectionStore<WorkExperience> experiences() { return experiences; }
+    public SectionStore<Award> awards() { return awards; }
+    public SectionStore<Certification> certifications() { return certifications; }
+    public SectionStore<Activity> activities() { return activities; }
+
+    /** 所有 singleton 建好之後（Web server 啟動前）整批載入 */
+    @Override
+    public void afterSingletonsInstantiated() {
+        bindings.keySet().forEach(this::reload);
+    }
+
+    /** 整個區塊重新載入 */
+    public void reload(Section section) {
+        Binding<?> binding = bindings.get(section);
+        if (binding != null) {
+            binding.reload(tx);
+        }
+    }
+
+    /**
+     * Service 寫入 commit 之後更新快照。
+     * 必須比其他從 Service 讀資料的快取（例如 PortfolioService）先執行，它們重建時才會讀到新資料。
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        Binding<?> binding = bindings.get(event.section());
+        if (binding != null) {
+            if (event.id() == null) {
+                binding.reload(tx);
+            } else if (event.op() == SectionChangedEvent.Op.DELETE) {
+                binding.remove(event.id());
+            } else {
+                binding.refresh(tx, event.id());
+            }
+        }
+        // 連帶受影響的區塊（分類 ↔ 技能）一筆變動可能牽動多筆，直接整批重載
+        for (Section other : event.section().affected()) {
+            if (other != event.section()) {
+                reload(other);
+            }
+        }
+    }
+
+    /**
+     * 同一區塊的讀取與寫入快照在鎖內依序進行：兩筆 commit 的監聽器同時跑時，
+     * 先讀到舊資料的那個不會在後讀的之後才寫入，把新的快照蓋回舊的。
+     * 不用 synchronized，虛擬執行緒等資料庫時才不會佔住平台執行緒
+     */
+    private static final class Binding<T> {
+        final SectionStore<T> store;
+        final Supplier<List<T>> loadAll;
+        final Function<Long, Optional<T>> loadOne;
+        final ReentrantLock lock = new ReentrantLock();
+
+        Binding(SectionStore<T> store, Supplier<List<T>> loadAll, Function<Long, Optional<T>> loadOne) {
+            this.store = store;
+            this.loadAll = loadAll;
+            this.loadOne = loadOne;
+        }
+
+        void reload(TransactionTemplate tx) {
+            lock.lock();
+            try {
+                store.replaceAll(ReplicaRoutingDataSource.onPrimary(() -> tx.execute(status -> loadAll.get())));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void refresh(TransactionTemplate tx, Long id) {
+            lock.lock();
+            try {
+                T item = ReplicaRoutingDataSource.onPrimary(() -> tx.execute(status -> loadOne.apply(id).orElse(null)));
+                if (item != null) {
+                    store.put(item);
+                } else {
+                    store.remove(id);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.lock();
+            try {
+                store.remove(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
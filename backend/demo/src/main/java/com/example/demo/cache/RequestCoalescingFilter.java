@@ -0,0 +1,172 @@
+package com.example.demo.cache;
+
+import com.example.demo.datasource.ReadYourWritesInterceptor;
+import com.example.demo.metrics.MetricsRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 同時進來的相同 GET /api/** 只處理一次（single-flight）：第一個請求照常查詢與序列化，
+ * 處理期間進來的相同請求等它完成，直接拿同一份狀態碼、標頭與內容。
+ * <ul>
+ *   <li>以 URL、Accept、Origin、If-None-Match 判斷是否相同，這幾個會影響回應內容或標頭</li>
+ *   <li>只在登記與移除時碰到 ConcurrentHashMap，查詢與寫出回應時不持有任何鎖</li>
+ *   <li>第一個請求失敗（例外、5xx、設定 cookie）或等太久時，等待的請求各自照常處理</li>
+ *   <li>串流（/api/events、/api/images）、匯出（/api/admin）、指標不合併；
+ *       帶讀寫一致 cookie 的請求要讀主資料庫，也不合併</li>
+ * </ul>
+ */
+@Component
+public class RequestCoalescingFilter extends OncePerRequestFilter {
+
+    private static final List<String> EXCLUDED = List.of("/api/events", "/api/images", "/api/admin", "/api/metrics");
+
+    private record Key(String uri, String query, String accept, String origin, String ifNoneMatch) {}
+
+    /** 第一個請求的回應，給等待的請求照抄 */
+    private record Shared(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            headers.forEach((name, values) -> values.forEach(v -> response.addHeader(name, v)));
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private final boolean enabled;
+    private final Duration waitTimeout;
+    private final Map<Key, CompletableFuture<Shared>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public RequestCoalescingFilter(@Value("${portfolio.coalesce.enabled:true}") boolean enabled,
+                                   @Value("${portfolio.coalesce.wait-timeout:10s}") Duration waitTimeout,
+                                   MetricsRegistry metrics) {
+        this.enabled = enabled;
+        this.waitTimeout = waitTimeout;
+        // 合併比例 = followers / (leaders + followers)，用 rate() 計算某段時間內的比例
+        metrics.registerGauge("portfolio_coalesce_leaders_total", "GET requests that ran the handler", leaders::sum);
+        metrics.registerGauge("portfolio_coalesce_followers_total",
+                "GET requests answered with a concurrent identical request's response", followers::sum);
+        metrics.registerGauge("portfolio_coalesce_fallbacks_total",
+                "Waiting requests that ran the handler themselves (leader failed or timed out)", fallbacks::sum);
+        metrics.registerGauge("portfolio_coalesce_in_flight", "Distinct GET requests being handled", inFlight::size);
+        metrics.registerGauge("portfolio_coalesce_waiting", "Requests waiting for an identical in-flight request",
+                waiting::get);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/") || EXCLUDED.stream().anyMatch(path::startsWith)) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ReadYourWritesInterceptor.COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Key key = new Key(request.getRequestURI(), request.getQueryString(), request.getHeader(HttpHeaders.ACCEPT),
+                request.getHeader(HttpHeaders.ORIGIN), request.getHeader(HttpHeaders.IF_NONE_MATCH));
+        CompletableFuture<Shared> mine = new CompletableFuture<>();
+        CompletableFuture<Shared> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            follow(running, request, response, chain);
+            return;
+        }
+
+        leaders.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        Shared shared = null;
+        try {
+            chain.doFilter(request, wrapper);
+            shared = capture(wrapper);
+            wrapper.copyBodyToResponse();
+        } finally {
+            // 先移除再完成：之後進來的請求重新查詢，看得到這段期間 commit 的寫入
+            inFlight.remove(key, mine);
+            mine.complete(shared);
+        }
+    }
+
+    private void follow(CompletableFuture<Shared> running, HttpServletRequest request, HttpServletResponse response,
+                        FilterChain chain) throws ServletException, IOException {
+        Shared shared = null;
+        waiting.incrementAndGet();
+        try {
+            shared = running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // 沒拿到就自己處理
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (shared == null) {
+            fallbacks.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+        followers.increment();
+        shared.writeTo(response);
+    }
+
+    /** 5xx 可能只是一時的錯誤，設定 cookie 的回應是給特定瀏覽器的，這兩種都不分享 */
+    private static Shared capture(ContentCachingResponseWrapper wrapper) {
+        if (wrapper.getStatus() >= 500 || wrapper.containsHeader(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.putIfAbsent(name, new ArrayList<>(wrapper.getHeaders(name)));
+            }
+        }
+        return new Shared(wrapper.getStatus(), wrapper.getContentType(), headers, wrapper.getContentAsByteArray());
+    }
+
+    /** 正在等待其他相同請求的數量 */
+    public int getWaiting() {
+        return waiting.get();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 單一區塊的唯讀快照，以 id 建索引。
+ * 讀取直接拿 volatile 參照、不上鎖；寫入時複製一份新的 map 再整個換掉（copy-on-write）。
+ */
+public final class SectionStore<T> {
+
+    private final Function<T, Long> idOf;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile View<T> view = new View<>(List.of(), Map.of(), 0);
+
+    public SectionStore(Function<T, Long> idOf) {
+        this.idOf = idOf;
+    }
+
+    /** 全部資料（不可修改），順序與載入時相同，新增的排在最後 */
+    public List<T> all() {
+        return view.list;
+    }
+
+    public Optional<T> find(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(view.byId.get(id));
+    }
+
+    /** 每換一次快照就加一 */
+    public long version() {
+        return view.version;
+    }
+
+    void replaceAll(Collection<T> items) {
+        write(map -> {
+            map.clear();
+            items.forEach(item -> map.put(idOf.apply(item), item));
+        });
+    }
+
+    void put(T item) {
+        write(map -> map.put(idOf.apply(item), item));
+    }
+
+    void remove(Long id) {
+        write(map -> map.remove(id));
+    }
+
+    private void write(Consumer<Map<Long, T>> change) {
+        writeLock.lock();
+        try {
+            View<T> current = view;
+            Map<Long, T> next = new LinkedHashMap<>(current.byId);
+            change.accept(next);
+            view = new View<>(List.copyOf(next.values()),
+                    Collections.unmodifiableMap(next), current.version + 1);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private record View<T>(List<T> list, Map<Long, T> byId, long version) {}
+}
@@ -0,0 +1,83 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 每個區塊一個版本號，寫入 commit 後加一，用來產生 ETag。
+ * 版本號只存在記憶體，重啟後歸零，所以 ETag 另外帶上啟動時間避免撞號。
+ * <p>
+ * 多台後端（portfolio.cluster.enabled=true）時，每台的啟動時間與本機版本號都不同，
+ * 負載平衡把驗證請求送到另一台就永遠對不上；這時改用 section_versions 表的叢集版本，
+ * 由 ClusterInvalidation 在本機快取追上之後呼叫 {@link #advanceCluster}，每台對同樣的資料給出同樣的 ETag。
+ */
+@Component
+public class SectionVersions {
+
+    private final AtomicLongArray versions = new AtomicLongArray(Section.values().length);
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    /** 本機快取已經反映到的叢集版本；clustered 為 false 時不使用 */
+    private final AtomicLongArray cluster = new AtomicLongArray(Section.values().length);
+    private volatile boolean clustered;
+
+    public long get(Section section) {
+        return versions.get(section.ordinal());
+    }
+
+    /** 所有區塊版本的總和；任何區塊變動都會讓它變大，給彙整端點用 */
+    public long total() {
+        long sum = 0;
+        for (int i = 0; i < versions.length(); i++) {
+            sum += versions.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * 本機快取已經是這個叢集版本的資料；之後 ETag 都由叢集版本產生。
+     * 版本只會往前，較舊的呼叫不會把它改回去
+     */
+    public void advanceCluster(Section section, long version) {
+        cluster.accumulateAndGet(section.ordinal(), version, Math::max);
+        clustered = true;
+    }
+
+    public String etag(Section section) {
+        if (clustered) {
+            // 分類與技能互相影響，ETag 要包含兩邊的版本
+            StringJoiner joined = new StringJoiner(".");
+            section.affected().forEach(s -> joined.add(Long.toString(cluster.get(s.ordinal()))));
+            return "\"" + section.getKey() + "-c" + joined + "\"";
+        }
+        return "\"" + section.getKey() + "-" + bootId + "-" + get(section) + "\"";
+    }
+
+    public String portfolioEtag() {
+        if (clustered) {
+            // 各區塊版本逐一列出；只用總和的話，兩台追到不同區塊時可能剛好相等
+            StringJoiner joined = new StringJoiner(".");
+            for (int i = 0; i < cluster.length(); i++) {
+                joined.add(Long.toString(cluster.get(i)));
+            }
+            return "\"portfolio-c" + joined + "\"";
+        }
+        return "\"portfolio-" + bootId + "-" + total() + "\"";
+    }
+
+    /** 排在 ReadModel 與 PortfolioService 之後，確保新 ETag 出現時讀取端已經是新資料；ChangeFeed 再排在這之後 */
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        for (Section section : event.section().affected()) {
+            versions.incrementAndGet(section.ordinal());
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.example.demo.cluster;
+
+import com.example.demo.cache.SectionVersions;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.metrics.MetricsRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * 多台後端共用一個資料庫時的快取同步。每台的 ReadModel、PortfolioService 等快取只知道自己收到的寫入，
+ * 這裡把寫入轉告其他節點：
+ * <ul>
+ *   <li>section_versions 表記錄每個區塊的叢集版本；寫入 commit 之後另開交易把版本加一，
+ *       PostgreSQL 上同一個交易裡 pg_notify，commit 時送出通知</li>
+ *   <li>每台用一條專屬連線 LISTEN（不占連線池），收到其他節點的通知就在本機重發同一個事件，
+ *       只更新受影響的區塊（有 id 時只重讀那一筆）</li>
+ *   <li>版本跳號（漏掉通知）、監聽連線斷掉、或資料庫不支援 NOTIFY（H2）時，定期比對版本表，
+ *       落後的區塊整個重新載入</li>
+ *   <li>本機快取追上哪個版本就交給 {@link SectionVersions}，ETag 由叢集版本產生，各節點可以互相驗證</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "portfolio.cluster", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterInvalidation implements SmartLifecycle, InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterInvalidation.class);
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /** 重發其他節點的事件時設定，避免自己的監聽器又把它當成本機寫入再通知一次 */
+    private static final ThreadLocal<Boolean> REPLAYING = new ThreadLocal<>();
+
+    private final ClusterProperties props;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final DataSourceProperties dataSource;
+    private final SectionVersions versions;
+    private final String nodeId = Long.toString(System.nanoTime() ^ System.currentTimeMillis(), 36);
+
+    /** 本機快取已經反映到的叢集版本 */
+    private final AtomicLongArray seen = new AtomicLongArray(Section.values().length);
+    /** 版本表沒更新成功的區塊，下次輪詢時重試 */
+    private final Set<Section> unpublished = ConcurrentHashMap.newKeySet();
+    /** 套用版本時一次只處理一個（重新載入會查資料庫） */
+    private final ReentrantLock applyLock = new ReentrantLock();
+
+    private final LongAdder notifications = new LongAdder();
+    private final LongAdder incremental = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+
+    private volatile boolean postgres;
+    private volatile boolean listening;
+    private volatile ScheduledExecutorService poller;
+    private volatile Thread listener;
+
+    public ClusterInvalidation(ClusterProperties props, JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                               ApplicationEventPublisher events, DataSourceProperties dataSource,
+                               SectionVersions versions, MetricsRegistry metrics) {
+        if (!CHANNEL.matcher(props.getChannel()).matches()) {
+            throw new IllegalStateException("Invalid portfolio.cluster.channel: " + props.getChannel());
+        }
+        this.props = props;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.events = events;
+        this.dataSource = dataSource;
+        this.versions = versions;
+        metrics.registerGauge("portfolio_cluster_notifications_total", "Cluster notifications received", notifications::sum);
+        metrics.registerGauge("portfolio_cluster_incremental_total",
+                "Remote changes applied to a single row", incremental::sum);
+        metrics.registerGauge("portfolio_cluster_reloads_total",
+                "Sections reloaded because notifications were missed", reloads::sum);
+        metrics.registerGauge("portfolio_cluster_listening", "1 while the LISTEN connection is open",
+                () -> listening ? 1 : 0);
+    }
+
+    /**
+     * 建表並記下目前的版本。放在 bean 建立時做，比 ReadModel 整批載入（所有 singleton 建好之後）早，
+     * 這之後別的節點寫入的都會比這個版本新，不會漏掉。
+     */
+    @Override
+    public void afterPropertiesSet() {
+        String product = jdbc.execute((Connection con) -> con.getMetaData().getDatabaseProductName());
+        postgres = "PostgreSQL".equals(product);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS section_versions ("
+                + "section varchar(32) primary key, version bigint not null)");
+        for (Section section : Section.values()) {
+            try {
+                jdbc.update("INSERT INTO section_versions (section, version) SELECT ?, 0 "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM section_versions WHERE section = ?)",
+                        section.getKey(), section.getKey());
+            } catch (DuplicateKeyException e) {
+                // 另一個節點同時啟動，已經插入了
+            }
+        }
+        jdbc.query("SELECT section, version FROM section_versions", rs -> {
+            Section section = Section.fromKey(rs.getString(1));
+            if (section != null) {
+                advance(section, rs.getLong(2));
+            }
+        });
+    }
+
+    /** 本機寫入 commit 之後（本機快取都更新完）才通知其他節點 */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        if (REPLAYING.get() != null) {
+            return;
+        }
+        try {
+            publish(event);
+        } catch (RuntimeException e) {
+            // 資料已經寫入，不能讓請求失敗；下次輪詢時重試，其他節點就會整個區塊重新載入
+            unpublished.add(event.section());
+            log.warn("Failed to publish cluster invalidation for {}, retrying on next poll", event.section(), e);
+        }
+    }
+
+    private void publish(SectionChangedEvent event) {
+        String key = event.section().getKey();
+        long version = tx.execute(status -> {
+            jdbc.update("UPDATE section_versions SET version = version + 1 WHERE section = ?", key);
+            long v = jdbc.queryForObject("SELECT version FROM section_versions WHERE section = ?", Long.class, key);
+            if (postgres) {
+                String payload = nodeId + " " + key + " " + v + " " + event.op() + " "
+                        + (event.id() != null ? event.id() : "-");
+                jdbc.query("SELECT pg_notify(?, ?)", rs -> null, props.getChannel(), payload);
+            }
+            return v;
+        });
+        committed(event.section(), version);
+    }
+
+    /** 中間沒有別人的版本時，本機已經是最新的；跳號表示別的節點的變更還沒套用，整個區塊重新載入 */
+    private void committed(Section section, long version) {
+        applyLock.lock();
+        try {
+            if (seen.get(section.ordinal()) == version - 1) {
+                advance(section, version);
+            } else {
+                apply(section, version, null, null);
+            }
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * 通知內容：「節點 區塊 版本 動作 id」，id 為 - 表示整個區塊。
+     * 格式不對的通知記一筆警告後略過；例外往外丟會斷掉 LISTEN 連線，重連期間其他通知都收不到
+     */
+    void onNotification(String payload) {
+        notifications.increment();
+        String[] parts = payload.split(" ");
+        Section section = parts.length == 5 ? Section.fromKey(parts[1]) : null;
+        if (section == null) {
+            log.warn("Ignoring malformed cluster notification: {}", payload);
+            return;
+        }
+        SectionChangedEvent change;
+        long version;
+        try {
+            change = new SectionChangedEvent(section,
+                    "-".equals(parts[4]) ? null : Long.valueOf(parts[4]), SectionChangedEvent.Op.valueOf(parts[3]));
+            version = Long.parseLong(parts[2]);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 與 Op.valueOf 的錯誤都是 IllegalArgumentException
+            log.warn("Ignoring malformed cluster notification: {}", payload);
+            return;
+        }
+        apply(section, version, parts[0], change);
+    }
+
+    /** 比對版本表追上漏掉的變更；順便重試之前沒寫成功的版本 */
+    void catchUp() {
+        for (Section section : Set.copyOf(unpublished)) {
+            unpublished.remove(section);
+            onSectionChanged(new SectionChangedEvent(section, null, SectionChangedEvent.Op.UPDATE));
+        }
+        jdbc.query("SELECT section, version FROM section_versions", rs -> {
+            Section section = Section.fromKey(rs.getString(1));
+            if (section != null) {
+                apply(section, rs.getLong(2), null, null);
+            }
+        });
+    }
+
+    /**
+     * 版本剛好是下一號、而且是別的節點的變更時，只套用那一筆；
+     * 自己的變更不必再做；跳號或不知道是什麼變更時整個區塊重新載入。
+     */
+    private void apply(Section section, long version, String origin, SectionChangedEvent change) {
+        applyLock.lock();
+        try {
+            long current = seen.get(section.ordinal());
+            if (version <= current) {
+                return;
+            }
+            if (version == current + 1 && change != null) {
+                if (!nodeId.equals(origin)) {
+                    replay(change);
+                    incremental.increment();
+                }
+            } else {
+                replay(new SectionChangedEvent(section, null, SectionChangedEvent.Op.UPDATE));
+                reloads.increment();
+            }
+            // 重新載入失敗（例外）時不更新，下次輪詢會再試
+            advance(section, version);
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /** 本機快取已經是這個版本的資料，ETag 換成這個版本 */
+    private void advance(Section section, long version) {
+        seen.set(section.ordinal(), version);
+        versions.advanceCluster(section, version);
+    }
+
+    /** 不在交易裡發出，@TransactionalEventListener(fallbackExecution = true) 的監聽器會立刻執行 */
+    private void replay(SectionChangedEvent event) {
+        REPLAYING.set(Boolean.TRUE);
+        try {
+            events.publishEvent(event);
+        } finally {
+            REPLAYING.remove();
+        }
+    }
+
+    private void listen() {
+        while (listener == Thread.currentThread()) {
+            try (Connection con = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+                try (Statement st = con.createStatement()) {
+                    st.execute("LISTEN " + props.getChannel());
+                }
+                PGConnection pg = con.unwrap(PGConnection.class);
+                listening = true;
+                // 連線之前（或斷線期間）的變更收不到通知，先比對一次
+                catchUp();
+                while (listener == Thread.currentThread()) {
+                    PGNotification[] received = pg.getNotifications(1000);
+                    if (received != null) {
+                        for (PGNotification n : received) {
+                            onNotification(n.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (listener == Thread.currentThread()) {
+                    log.warn("Cluster LISTEN connection lost, reconnecting in {}", props.getReconnectDelay(), e);
+                }
+            } finally {
+                listening = false;
+            }
+            if (listener != Thread.currentThread()) {
+                return;
+            }
+            try {
+                Thread.sleep(props.getReconnectDelay().toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void poll() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Cluster version poll failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService s = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cluster-poll");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = props.getPollInterval().toMillis();
+        s.scheduleWithFixedDelay(this::poll, period, period, TimeUnit.MILLISECONDS);
+        poller = s;
+        if (postgres) {
+            Thread t = new Thread(this::listen, "cluster-listen");
+            t.setDaemon(true);
+            listener = t;
+            t.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService s = poller;
+        Thread t = listener;
+        poller = null;
+        listener = null;
+        if (s != null) {
+            s.shutdownNow();
+        }
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return poller != null;
+    }
+}
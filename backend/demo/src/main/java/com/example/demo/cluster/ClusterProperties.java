@@ -0,0 +1,36 @@
+package com.example.demo.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 多台後端之間的快取同步設定（application.properties 的 portfolio.cluster.*）。
+ */
+@ConfigurationProperties(prefix = "portfolio.cluster")
+public class ClusterProperties {
+
+    /** 啟用後，寫入 commit 時通知其他節點重新載入該區塊；只跑一台時不需要 */
+    private boolean enabled = false;
+
+    /** PostgreSQL LISTEN / NOTIFY 的頻道名稱，只能有小寫英數字與底線 */
+    private String channel = "portfolio_sections";
+
+    /** 定期比對版本表的間隔；漏掉通知（斷線、H2 沒有 NOTIFY）時靠這個追上 */
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    /** 監聽連線斷掉後，隔多久重連 */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+
+    public Duration getPollInterval() { return pollInterval; }
+    public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+
+    public Duration getReconnectDelay() { return reconnectDelay; }
+    public void setReconnectDelay(Duration reconnectDelay) { this.reconnectDelay = reconnectDelay; }
+}
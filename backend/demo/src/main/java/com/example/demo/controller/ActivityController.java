@@ -1,13 +1,19 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FieldSelection;
 import com.example.demo.entity.Activity;
 import com.example.demo.service.ActivityService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/activities")
@@ -26,6 +32,36 @@ public class ActivityController {
         return service.findAll();
     }
 
+    /** GET /api/activities?after=&lt;cursor&gt;&amp;limit=N — 游標分頁 */
+    @GetMapping(params = {"limit", "!fields", "!view"})
+    public ResponseEntity<CursorPage<Activity>> getAllPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        int size = KeysetPagination.limit(limit);
+        return KeysetPagination.respond(
+                service.findAfter(KeysetPagination.afterId(after), size + 1), size, Activity::getId);
+    }
+
+    /** 只給 after 沒給 limit 時用預設筆數，游標不會被忽略 */
+    @GetMapping(params = {"after", "!limit", "!fields", "!view"})
+    public ResponseEntity<CursorPage<Activity>> getAllPageAfter(@RequestParam String after) {
+        return getAllPage(after, KeysetPagination.DEFAULT_LIMIT);
+    }
+
+    /** GET /api/activities?fields=a,b — 只回傳指定欄位 */
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllFields(@RequestParam String fields, HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "fields", "view", "limit", "after");
+        return service.listFields(FieldSelection.parse(fields));
+    }
+
+    /** GET /api/activities?view=summary — 卡片用的精簡清單 */
+    @GetMapping(params = {"view=summary", "!fields"})
+    public List<Map<String, Object>> getAllSummaries(HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "view", "limit", "after");
+        return service.listSummaries();
+    }
+
     @PostMapping
     public ResponseEntity<Activity> create(@RequestBody Activity activity) {
         Activity created = service.create(activity);
@@ -33,8 +69,14 @@ public class ActivityController {
     }
 
     @PutMapping("/{id}")
-    public Activity update(@PathVariable Long id, @RequestBody Activity activity) {
-        return service.update(id, activity);
+    public ResponseEntity<Activity> update(@PathVariable Long id, @RequestBody Activity activity) {
+        return MergePatch.respond(service.update(id, activity), () -> service.findById(id));
+    }
+
+    /** PATCH /api/activities/{id} — JSON Merge Patch，只改有給的欄位 */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Activity> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return MergePatch.respond(service.patch(id, patch), () -> service.findById(id));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,56 @@
+// src/main/java/com/example/demo/controller/AdminController.java
+package com.example.demo.controller;
+
+import com.example.demo.image.ImageLocalizer;
+import com.example.demo.service.BulkTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final BulkTransferService bulk;
+    private final ImageLocalizer images;
+
+    public AdminController(BulkTransferService bulk, ImageLocalizer images) {
+        this.bulk = bulk;
+        this.images = images;
+    }
+
+    /** GET /api/admin/export — 以 NDJSON 串流匯出全部資料 */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"portfolio.ndjson\"")
+                .body(bulk::exportTo);
+    }
+
+    /** POST /api/admin/import — 匯入 NDJSON，replace=true 會先清空既有資料 */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public Map<String, Object> importAll(HttpServletRequest request,
+                                        @RequestParam(defaultValue = "false") boolean replace) throws IOException {
+        long start = System.nanoTime();
+        Map<String, Integer> counts = bulk.importFrom(request.getInputStream(), replace);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("imported", counts);
+        result.put("millis", (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /** POST /api/admin/images/localize — 把外部圖片網址下載到本機並改寫成 /api/images/... */
+    @PostMapping("/images/localize")
+    public Map<String, Integer> localizeImages() {
+        return images.localizeAll();
+    }
+}
@@ -3,6 +3,8 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Category;
 import com.example.demo.service.CategoryService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,7 +36,14 @@ public class CategoryController {
         @PathVariable Long id,
         @RequestBody Map<String, String> body
     ) {
-        return svc.update(id, body.get("name"));
+        svc.update(id, body.get("name"));
+        return svc.findById(id).orElseThrow();
+    }
+
+    /** PATCH /api/categories/{id} — JSON Merge Patch，只改有給的欄位 */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Category> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return MergePatch.respond(svc.patch(id, patch), () -> svc.findById(id));
     }
 
     @DeleteMapping("/{id}")
@@ -2,9 +2,16 @@
 package com.example.demo.controller;
 
 import java.util.List;
+import java.util.Map;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FieldSelection;
 import com.example.demo.entity.Certification;
 import com.example.demo.service.CertificationService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/certifications")
@@ -20,6 +27,36 @@ public class CertificationController {
         return service.getAll();
     }
 
+    /** GET /api/certifications?after=&lt;cursor&gt;&amp;limit=N — 游標分頁 */
+    @GetMapping(params = {"limit", "!fields", "!view"})
+    public ResponseEntity<CursorPage<Certification>> listPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        int size = KeysetPagination.limit(limit);
+        return KeysetPagination.respond(
+                service.findAfter(KeysetPagination.afterId(after), size + 1), size, Certification::getId);
+    }
+
+    /** 只給 after 沒給 limit 時用預設筆數，游標不會被忽略 */
+    @GetMapping(params = {"after", "!limit", "!fields", "!view"})
+    public ResponseEntity<CursorPage<Certification>> listPageAfter(@RequestParam String after) {
+        return listPage(after, KeysetPagination.DEFAULT_LIMIT);
+    }
+
+    /** GET /api/certifications?fields=a,b — 只回傳指定欄位 */
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listFields(@RequestParam String fields, HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "fields", "view", "limit", "after");
+        return service.listFields(FieldSelection.parse(fields));
+    }
+
+    /** GET /api/certifications?view=summary — 卡片用的精簡清單 */
+    @GetMapping(params = {"view=summary", "!fields"})
+    public List<Map<String, Object>> listSummaries(HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "view", "limit", "after");
+        return service.listSummaries();
+    }
+
     @PostMapping
     public Certification create(@RequestBody Certification cert) {
         return service.create(cert);
@@ -27,8 +64,15 @@ public class CertificationController {
 
     @PutMapping("/{id}")
     public Certification update(@PathVariable Long id,
-                                @RequestBody Certification cert) {
-        return service.update(id, cert);
+                        @RequestBody Certification cert) {
+        service.update(id, cert);
+        return service.getById(id);
+    }
+
+    /** PATCH /api/certifications/{id} — JSON Merge Patch，只改有給的欄位 */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Certification> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return MergePatch.respond(service.patch(id, patch), () -> service.findById(id));
     }
 
     @DeleteMapping("/{id}")
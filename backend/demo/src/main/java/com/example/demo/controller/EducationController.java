@@ -1,12 +1,17 @@
 // src/main/java/com/example/demo/controller/EducationController.java
 package com.example.demo.controller;
 
+import com.example.demo.dto.FieldSelection;
 import com.example.demo.entity.Education;
 import com.example.demo.service.EducationService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/educations")
@@ -24,6 +29,19 @@ public class EducationController {
         return svc.listAll();
     }
 
+    /** GET /api/educations?fields=a,b — 只回傳指定欄位 */
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listAllFields(@RequestParam String fields, HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "fields", "view");
+        return svc.listFields(FieldSelection.parse(fields));
+    }
+
+    /** GET /api/educations?view=summary — 卡片用的精簡清單 */
+    @GetMapping(params = {"view=summary", "!fields"})
+    public List<Map<String, Object>> listAllSummaries() {
+        return svc.listSummaries();
+    }
+
     /** POST /api/educations — 新增學歷 */
     @PostMapping
     public Education create(@RequestBody Education edu) {
@@ -36,9 +54,13 @@ public class EducationController {
             @PathVariable Long id,
             @RequestBody Education eduData) 
     {
-        return svc.update(id, eduData)
-                  .map(ResponseEntity::ok)
-                  .orElseGet(() -> ResponseEntity.notFound().build());
+        return MergePatch.respond(svc.update(id, eduData), () -> svc.findById(id));
+    }
+
+    /** PATCH /api/educations/{id} — JSON Merge Patch，只改有給的欄位 */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Education> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return MergePatch.respond(svc.patch(id, patch), () -> svc.findById(id));
     }
 
     /** DELETE /api/educations/{id} — 刪除學歷 */
@@ -0,0 +1,53 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.FieldSelection;
+import com.example.demo.event.Section;
+import com.example.demo.feed.ChangeFeed;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventsController {
+
+    private final ChangeFeed feed;
+
+    public EventsController(ChangeFeed feed) {
+        this.feed = feed;
+    }
+
+    /**
+     * GET /api/events?sections=projects,skills — 區塊變更的 SSE 推播，取代輪詢。
+     * 事件名稱 change，內容 {section, id, op, version}；收到 reset 代表漏掉的變更補不回來，要整個重抓。
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                @RequestParam(required = false) String sections,
+                                HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // nginx 預設會緩衝回應，事件要等緩衝區滿才送出
+        response.setHeader("X-Accel-Buffering", "no");
+        return feed.subscribe(parseSections(sections), lastEventId);
+    }
+
+    private static Set<Section> parseSections(String sections) {
+        Set<Section> result = EnumSet.noneOf(Section.class);
+        for (String key : FieldSelection.parse(sections)) {
+            Section section = Section.fromKey(key);
+            if (section == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown section: " + key);
+            }
+            result.add(section);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+// src/main/java/com/example/demo/controller/ImageController.java
+package com.example.demo.controller;
+
+import com.example.demo.image.ImageSender;
+import com.example.demo.image.ImageStore;
+import com.example.demo.image.ImageVariants;
+import com.example.demo.image.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+    private final ImageStore store;
+    private final ImageSender sender;
+    private final ImageVariants variants;
+
+    public ImageController(ImageStore store, ImageSender sender, ImageVariants variants) {
+        this.store = store;
+        this.sender = sender;
+        this.variants = variants;
+    }
+
+    /** POST /api/images — 上傳圖片（multipart 欄位 file），回傳可填入 imageUrl 的網址 */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StoredImage> upload(@RequestParam("file") MultipartFile file) throws IOException {
+        StoredImage image;
+        try (InputStream in = file.getInputStream()) {
+            image = store.store(in);
+        }
+        variants.schedule(image);
+        return ResponseEntity.created(URI.create(image.url())).body(image);
+    }
+
+    /**
+     * GET /api/images/{name}?w=480 — 直接由檔案送出（sendfile），支援 Range 與 ETag。
+     * 有 w 時送出寬度最接近（不小於 w）的縮圖；縮圖還沒產生時暫時送原圖，但不讓瀏覽器長期快取。
+     */
+    @GetMapping("/{name}")
+    public void get(@PathVariable String name,
+                    @RequestParam(required = false) Integer w,
+                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredImage image = store.find(name).orElse(null);
+        if (image == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (w == null) {
+            sender.send(image, store.pathOf(image.name()), request, response);
+            return;
+        }
+        ImageVariants.Fit fit = variants.bestFit(image, w);
+        sender.send(fit.image(), store.pathOf(fit.image().name()), fit.provisional(), request, response);
+    }
+}
@@ -3,6 +3,8 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Introduction;
 import com.example.demo.service.IntroductionService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,4 +26,10 @@ public class IntroductionController {
     public Introduction updateIntroduction(@RequestBody Introduction newIntro) {
         return svc.update(newIntro.getContent());
     }
+
+    /** PATCH /api/introduction — JSON Merge Patch */
+    @PatchMapping(consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public Introduction patchIntroduction(@RequestBody ObjectNode patch) {
+        return svc.patch(patch);
+    }
 }
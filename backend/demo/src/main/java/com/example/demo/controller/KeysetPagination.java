@@ -0,0 +1,72 @@
+// src/main/java/com/example/demo/controller/KeysetPagination.java
+package com.example.demo.controller;
+
+import com.example.demo.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ?after=&lt;cursor&gt;&amp;limit=N 的共用處理。
+ * 游標是「最後一筆的 id」編碼後的不透明字串，查詢用 id &gt; ? 的 seek，不使用 OFFSET。
+ */
+final class KeysetPagination {
+
+    static final int MAX_LIMIT = 100;
+    /** 只給游標、沒給 limit 時的筆數 */
+    static final int DEFAULT_LIMIT = 20;
+    private static final String PREFIX = "v1:";
+
+    private KeysetPagination() {}
+
+    static int limit(int requested) {
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    /** 沒有游標代表第一頁 */
+    static long afterId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+    }
+
+    static String cursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * fetched 是多查一筆（limit + 1）的結果，用來判斷還有沒有下一頁。
+     * 有下一頁時同時放進 Link: rel="next" header。
+     */
+    static <T> ResponseEntity<CursorPage<T>> respond(List<T> fetched, int limit, Function<T, Long> idOf) {
+        if (fetched.size() <= limit) {
+            return ResponseEntity.ok(new CursorPage<>(fetched, null, null));
+        }
+        List<T> items = fetched.subList(0, limit);
+        String cursor = cursor(idOf.apply(items.get(limit - 1)));
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", cursor)
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(new CursorPage<>(List.copyOf(items), cursor, next));
+    }
+}
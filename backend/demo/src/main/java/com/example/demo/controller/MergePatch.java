@@ -0,0 +1,24 @@
+package com.example.demo.controller;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * PATCH /{id} 的共用處理：body 是 JSON Merge Patch（RFC 7396），也接受一般的 application/json。
+ * Service 以一條 UPDATE 寫入，commit 後讀取模型已經更新，回應直接從讀取模型取，不必再查資料庫。
+ */
+final class MergePatch {
+
+    static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private MergePatch() {}
+
+    /** 有這筆就回 200 與更新後的內容，否則 404 */
+    static <T> ResponseEntity<T> respond(boolean found, Supplier<Optional<T>> current) {
+        return found
+                ? ResponseEntity.of(current.get())
+                : ResponseEntity.notFound().build();
+    }
+}
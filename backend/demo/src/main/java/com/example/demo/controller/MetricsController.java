@@ -0,0 +1,28 @@
+// src/main/java/com/example/demo/controller/MetricsController.java
+package com.example.demo.controller;
+
+import com.example.demo.metrics.MetricsRegistry;
+import com.example.demo.metrics.PrometheusFormatter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    private final MetricsRegistry registry;
+
+    public MetricsController(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** GET /api/metrics — Prometheus 文字格式的延遲、吞吐量與錯誤統計 */
+    @GetMapping
+    public ResponseEntity<String> scrape() {
+        return ResponseEntity.ok()
+                .contentType(PROMETHEUS_TEXT)
+                .body(PrometheusFormatter.format(registry));
+    }
+}
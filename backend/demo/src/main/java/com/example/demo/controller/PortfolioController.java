@@ -0,0 +1,25 @@
+// src/main/java/com/example/demo/controller/PortfolioController.java
+package com.example.demo.controller;
+
+import com.example.demo.service.PortfolioService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/portfolio")
+public class PortfolioController {
+    private final PortfolioService svc;
+
+    public PortfolioController(PortfolioService svc) {
+        this.svc = svc;
+    }
+
+    /** GET /api/portfolio — 一次取得首頁所有區塊（已序列化好的快取） */
+    @GetMapping
+    public ResponseEntity<byte[]> getPortfolio() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(svc.getSnapshot());
+    }
+}
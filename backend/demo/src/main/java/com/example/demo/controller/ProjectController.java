@@ -1,25 +1,86 @@
 // src/main/java/com/example/demo/controller/ProjectController.java
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.FieldSelection;
 import com.example.demo.entity.Project;
+import com.example.demo.search.TechnologyFacet;
+import com.example.demo.search.TechnologyFacetIndex;
 import com.example.demo.service.ProjectService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectController {
     @Autowired
     private ProjectService projectService;
+    @Autowired
+    private TechnologyFacetIndex facetIndex;
 
     @GetMapping
     public List<Project> getAll() {
         return projectService.findAll();
     }
 
+    /** GET /api/projects?after=&lt;cursor&gt;&amp;limit=N — 游標分頁 */
+    @GetMapping(params = {"limit", "!fields", "!view", "!tech"})
+    public ResponseEntity<CursorPage<Project>> getAllPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        int size = KeysetPagination.limit(limit);
+        return KeysetPagination.respond(
+                projectService.findAfter(KeysetPagination.afterId(after), size + 1), size, Project::getId);
+    }
+
+    /** 只給 after 沒給 limit 時用預設筆數，游標不會被忽略 */
+    @GetMapping(params = {"after", "!limit", "!fields", "!view", "!tech"})
+    public ResponseEntity<CursorPage<Project>> getAllPageAfter(@RequestParam String after) {
+        return getAllPage(after, KeysetPagination.DEFAULT_LIMIT);
+    }
+
+    /** GET /api/projects?fields=a,b — 只回傳指定欄位 */
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllFields(@RequestParam String fields, HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "fields", "view", "limit", "after", "tech");
+        return projectService.listFields(FieldSelection.parse(fields));
+    }
+
+    /** GET /api/projects?view=summary — 卡片用的精簡清單 */
+    @GetMapping(params = {"view=summary", "!fields"})
+    public List<Map<String, Object>> getAllSummaries(HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "view", "limit", "after");
+        return projectService.listSummaries();
+    }
+
+    /** GET /api/projects?tech=React,Docker&amp;match=all|any — 依技術篩選（預設全部符合） */
+    @GetMapping(params = {"tech", "!fields", "!view"})
+    public List<Project> getAllByTechnology(@RequestParam String tech,
+                                            @RequestParam(defaultValue = "all") String match,
+                                            HttpServletRequest request) {
+        // 篩選結果不分頁；帶分頁參數時回 400，不默默回傳全部
+        QueryParams.rejectCombined(request, "tech", "limit", "after");
+        List<String> technologies = FieldSelection.parse(tech);
+        return facetIndex.projectIds(technologies, !"any".equalsIgnoreCase(match)).stream()
+                .map(projectService::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /** GET /api/projects/facets — 每個技術標籤的專案數 */
+    @GetMapping("/facets")
+    public List<TechnologyFacet> getFacets() {
+        return facetIndex.facets();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Project> getById(@PathVariable Long id) {
         return projectService.findById(id)
@@ -34,26 +95,19 @@ public class ProjectController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Project> update(@PathVariable Long id, @RequestBody Project project) {
-        return projectService.findById(id)
-                .map(existing -> {
-                    existing.setName(project.getName());
-                    existing.setDescription(project.getDescription());
-                    existing.setTechnologies(project.getTechnologies());
-                    existing.setImageUrl(project.getImageUrl());
-                    existing.setYear(project.getYear());
-                    existing.setProjectUrl(project.getProjectUrl());
-                    Project updated = projectService.save(existing);
-                    return ResponseEntity.ok(updated);
-                })
-                .orElse(ResponseEntity.notFound().build());
+        return MergePatch.respond(projectService.update(id, project), () -> projectService.findById(id));
+    }
+
+    /** PATCH /api/projects/{id} — JSON Merge Patch，只改有給的欄位 */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Project> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return MergePatch.respond(projectService.patch(id, patch), () -> projectService.findById(id));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (projectService.findById(id).isPresent()) {
-            projectService.deleteById(id);
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.notFound().build();
+        return projectService.deleteById(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+// src/main/java/com/example/demo/controller/QueryParams.java
+package com.example.demo.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 列表端點的查詢參數檢查。?fields=、?view=、?tech= 的回應都不分頁，形狀也各不相同，
+ * 一起給的時候回 400，不要默默忽略其中一個。
+ */
+final class QueryParams {
+
+    private QueryParams() {}
+
+    static void rejectCombined(HttpServletRequest request, String param, String... others) {
+        for (String other : others) {
+            if (request.getParameter(other) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "'" + param + "' cannot be combined with '" + other + "'");
+            }
+        }
+    }
+}
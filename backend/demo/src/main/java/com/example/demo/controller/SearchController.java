@@ -0,0 +1,27 @@
+// src/main/java/com/example/demo/controller/SearchController.java
+package com.example.demo.controller;
+
+import com.example.demo.search.SearchHit;
+import com.example.demo.search.SearchEngine;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchEngine engine;
+
+    public SearchController(SearchEngine engine) {
+        this.engine = engine;
+    }
+
+    /** GET /api/search?q=關鍵字 — 依相關度排序的全站搜尋 */
+    @GetMapping
+    public List<SearchHit> search(@RequestParam String q,
+                                  @RequestParam(defaultValue = "20") int limit) {
+        return engine.search(q, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
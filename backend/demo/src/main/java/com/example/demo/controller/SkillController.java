@@ -3,10 +3,12 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Skill;
 import com.example.demo.service.SkillService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -51,7 +53,14 @@ public class SkillController {
         String name = (String) body.get("name");
         String desc = (String) body.get("description");
         Long catId = Long.valueOf(body.get("categoryId").toString());
-        return svc.update(id, name, desc, catId);
+        svc.update(id, name, desc, catId);
+        return svc.findById(id).orElseThrow();
+    }
+
+    /** PATCH /api/skills/{id} — JSON Merge Patch，只改有給的欄位 */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Skill> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return MergePatch.respond(svc.patch(id, patch), () -> svc.findById(id));
     }
 
     @DeleteMapping("/{id}")
@@ -1,12 +1,18 @@
 package com.example.demo.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.demo.dto.FieldSelection;
 import com.example.demo.entity.WorkExperience;
 import com.example.demo.service.WorkExperienceService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/experiences")
@@ -23,6 +29,19 @@ public class WorkExperienceController {
         return service.listAll();
     }
 
+    /** GET /api/experiences?fields=a,b — 只回傳指定欄位 */
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> listAllFields(@RequestParam String fields, HttpServletRequest request) {
+        QueryParams.rejectCombined(request, "fields", "view");
+        return service.listFields(FieldSelection.parse(fields));
+    }
+
+    /** GET /api/experiences?view=summary — 卡片用的精簡清單 */
+    @GetMapping(params = {"view=summary", "!fields"})
+    public List<Map<String, Object>> listAllSummaries() {
+        return service.listSummaries();
+    }
+
     @GetMapping("/{id}")
     public WorkExperience getOne(@PathVariable Long id) {
         return service.getById(id);
@@ -38,7 +57,14 @@ public class WorkExperienceController {
     public WorkExperience update(
             @PathVariable Long id,
             @RequestBody WorkExperience exp) {
-        return service.update(id, exp);
+        service.update(id, exp);
+        return service.getById(id);
+    }
+
+    /** PATCH /api/experiences/{id} — JSON Merge Patch，只改有給的欄位 */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<WorkExperience> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return MergePatch.respond(service.patch(id, patch), () -> service.findById(id));
     }
 
     @DeleteMapping("/{id}")
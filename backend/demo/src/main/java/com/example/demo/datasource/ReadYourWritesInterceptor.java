@@ -0,0 +1,63 @@
+package com.example.demo.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * 讀到自己剛寫的資料：寫入請求會在回應帶一個短期 cookie，之後這段時間內同一個瀏覽器的讀取都走主資料庫。
+ * 其他訪客不受影響，仍然讀副本（可能落後幾秒）。
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    public static final String COOKIE = "portfolio_primary_until";
+
+    private final Duration window;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method)) {
+            // 寫入前就設定好：回應可能在 handler 結束前就已送出標頭
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(now + window.toMillis()))
+                    .path("/api").maxAge(window).httpOnly(true).sameSite("Lax").build().toString());
+            ReplicaRoutingDataSource.requirePrimary(true);
+            return true;
+        }
+        ReplicaRoutingDataSource.requirePrimary(primaryUntil(request) > now);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRoutingDataSource.requirePrimary(false);
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
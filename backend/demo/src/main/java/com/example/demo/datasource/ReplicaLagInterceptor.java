@@ -0,0 +1,68 @@
+package com.example.demo.datasource;
+
+import com.example.demo.cache.ConditionalGetInterceptor;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 區塊寫入後 max-lag 內，該區塊的讀取走主資料庫。
+ * ETag 由（主資料庫 commit 後的）區塊版本號產生；副本還沒追上時，新的 ETag 會配上舊資料，
+ * 之後每次驗證都回 304，直到下一次寫入。所有訪客都受影響，不像 read-your-writes 只看 cookie。
+ * <p>
+ * 要排在 ConditionalGetInterceptor 之後：版本號先加一、這裡才記錄寫入時間的話，
+ * 兩者之間進來的請求會拿到新 ETag 卻被送到副本；所以寫入時間要在版本號加一之前記錄。
+ */
+public class ReplicaLagInterceptor implements HandlerInterceptor {
+
+    private final long maxLagNanos;
+    /** 各區塊最近一次 commit 的 System.nanoTime()；0 表示啟動後還沒寫過 */
+    private final AtomicLongArray lastWrite = new AtomicLongArray(Section.values().length);
+
+    public ReplicaLagInterceptor(Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    /** 比 SectionVersions 先記錄，新 ETag 出現時這裡一定已經知道有寫入 */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        long now = System.nanoTime();
+        for (Section section : event.section().affected()) {
+            lastWrite.set(section.ordinal(), now);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        Section section = Section.fromKey(ConditionalGetInterceptor.sectionKey(
+                request.getRequestURI().substring(request.getContextPath().length())));
+        if (section != null && recentlyWritten(section)) {
+            ReplicaRoutingDataSource.requirePrimary(true);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRoutingDataSource.requirePrimary(false);
+    }
+
+    boolean recentlyWritten(Section section) {
+        long last = lastWrite.get(section.ordinal());
+        return last != 0 && System.nanoTime() - last < maxLagNanos;
+    }
+}
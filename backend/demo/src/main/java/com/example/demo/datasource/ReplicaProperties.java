@@ -0,0 +1,54 @@
+package com.example.demo.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 唯讀副本設定（application.properties 的 portfolio.replica.*）。
+ */
+@ConfigurationProperties(prefix = "portfolio.replica")
+public class ReplicaProperties {
+
+    /** 啟用後，唯讀交易改連副本；主資料庫仍是 spring.datasource.* */
+    private boolean enabled = false;
+
+    /** 副本的 JDBC URL，多個時輪流使用 */
+    private List<String> urls = new ArrayList<>();
+
+    /** 沒有設定時沿用 spring.datasource.username / password */
+    private String username;
+    private String password;
+
+    /** 每個副本的連線池大小 */
+    private int maximumPoolSize = 10;
+
+    /** 寫入後這段時間內，同一個瀏覽器的讀取仍走主資料庫（讀得到自己剛寫的資料）；0 表示不啟用 */
+    private Duration readYourWrites = Duration.ofSeconds(5);
+
+    /** 副本最多落後多久：區塊寫入後這段時間內，所有人對該區塊的讀取都走主資料庫，ETag 才不會配上舊資料；0 表示不啟用 */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getUrls() { return urls; }
+    public void setUrls(List<String> urls) { this.urls = urls; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+    public Duration getReadYourWrites() { return readYourWrites; }
+    public void setReadYourWrites(Duration readYourWrites) { this.readYourWrites = readYourWrites; }
+
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * portfolio.replica.enabled=true 時，把唯讀交易（@Transactional(readOnly = true)、Spring Data 的查詢方法）導到副本。
+ * <p>
+ * JpaTransactionManager 在交易開始時就向 DataSource 要連線，那時還不知道交易是不是唯讀；
+ * LazyConnectionDataSourceProxy 先給一個代理連線，等第一條 SQL 真的要送出時才決定：
+ * 之前被設成 readOnly 的走 {@link ReplicaRoutingDataSource}，其餘走主資料庫。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "portfolio.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaProperties props;
+
+    public ReplicaRoutingConfig(ReplicaProperties props) {
+        this.props = props;
+    }
+
+    /** 主資料庫：與沒有副本時相同，由 spring.datasource.* 與 spring.datasource.hikari.* 設定 */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < props.getUrls().size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(props.getUrls().get(i))
+                    .username(props.getUsername() != null ? props.getUsername() : properties.determineUsername())
+                    .password(props.getPassword() != null ? props.getPassword() : properties.determinePassword())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(props.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    /** JPA、JdbcTemplate 與 spring.sql.init 用的都是這個 */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    /** 記錄各區塊的寫入時間（bean 才收得到 commit 後的事件） */
+    @Bean
+    public ReplicaLagInterceptor replicaLagInterceptor() {
+        return new ReplicaLagInterceptor(props.getMaxLag());
+    }
+
+    /**
+     * 兩個都排在預設順序（0）的 ConditionalGetInterceptor 之後；
+     * read-your-writes 會把「走主資料庫」清掉，所以要先註冊，副本延遲的判斷只會再設成主資料庫。
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!props.getReadYourWrites().isZero()) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(props.getReadYourWrites()))
+                    .addPathPatterns("/api/**").order(1);
+        }
+        if (!props.getMaxLag().isZero()) {
+            registry.addInterceptor(replicaLagInterceptor()).addPathPatterns("/api/**").order(1);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/example/demo/dto/CursorPage.java
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * 游標分頁的回應：items 是這一頁的資料；還有下一頁時 nextCursor 與 next（完整網址）不為 null。
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, String next) {
+}
@@ -0,0 +1,24 @@
+// src/main/java/com/example/demo/dto/FieldSelection.java
+package com.example.demo.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 解析 ?fields=title,date,imageUrl 這種以逗號分隔的欄位清單。
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {}
+
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
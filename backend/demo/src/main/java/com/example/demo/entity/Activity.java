@@ -1,5 +1,6 @@
 package com.example.demo.entity;
 
+import com.example.demo.image.StoredImage;
 import jakarta.persistence.*;
 
 @Entity
@@ -34,4 +35,7 @@ public class Activity {
 
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    /** 本機圖片的縮圖 srcset（不存資料庫）；外部網址為 null */
+    public String getImageSrcset() { return StoredImage.srcset(imageUrl); }
 }
@@ -1,6 +1,7 @@
 // src/main/java/com/example/demo/entity/Award.java
 package com.example.demo.entity;
 
+import com.example.demo.image.StoredImage;
 import jakarta.persistence.*;
 
 @Entity
@@ -67,5 +68,10 @@ public class Award {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+
+    /** 本機圖片的縮圖 srcset（不存資料庫）；外部網址為 null */
+    public String getImageSrcset() {
+        return StoredImage.srcset(imageUrl);
+    }
 }
 
@@ -3,6 +3,7 @@ package com.example.demo.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;  // ← 匯入這行
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +26,7 @@ public class Category {
         orphanRemoval = true
     )
     @JsonManagedReference      // ← 加在「父」(One) 端
+    @BatchSize(size = 50)      // 沒走 entity graph 時，一次補載多個分類的技能
     private List<Skill> skills = new ArrayList<>();
 
     // JPA 需要
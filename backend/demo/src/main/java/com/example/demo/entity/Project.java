@@ -1,7 +1,9 @@
 // src/main/java/com/example/demo/entity/Project.java
 package com.example.demo.entity;
 
+import com.example.demo.image.StoredImage;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,6 +26,7 @@ public class Project {
         joinColumns = @JoinColumn(name = "project_id")
     )
     @Column(name = "technology")
+    @BatchSize(size = 50)
     private List<String> technologies = new ArrayList<>();
 
     private String imageUrl;
@@ -91,6 +94,11 @@ public class Project {
         this.imageUrl = imageUrl;
     }
 
+    /** 本機圖片的縮圖 srcset（不存資料庫）；外部網址為 null */
+    public String getImageSrcset() {
+        return StoredImage.srcset(imageUrl);
+    }
+
     public String getYear() {
         return year;
     }
@@ -0,0 +1,46 @@
+package com.example.demo.event;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 網站上的各個內容區塊，key 同時是 /api/{key} 的路徑與彙整 JSON 的欄位名稱。
+ */
+public enum Section {
+    INTRODUCTION("introduction"),
+    PROJECTS("projects"),
+    SKILLS("skills"),
+    CATEGORIES("categories"),
+    EDUCATIONS("educations"),
+    EXPERIENCES("experiences"),
+    AWARDS("awards"),
+    CERTIFICATIONS("certifications"),
+    ACTIVITIES("activities");
+
+    private final String key;
+
+    Section(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /** 這個區塊變動時，一起失效的區塊（分類的 JSON 內嵌了技能，兩者互相影響） */
+    public Set<Section> affected() {
+        return switch (this) {
+            case SKILLS, CATEGORIES -> EnumSet.of(SKILLS, CATEGORIES);
+            default -> EnumSet.of(this);
+        };
+    }
+
+    public static Section fromKey(String key) {
+        for (Section s : values()) {
+            if (s.key.equals(key)) {
+                return s;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.event;
+
+/**
+ * Service 寫入（新增 / 更新 / 刪除）某個區塊後發出的事件。
+ * 監聽端請用 {@code @TransactionalEventListener}，確保在 commit 之後才處理。
+ *
+ * @param section 變動的區塊
+ * @param id      變動的資料 id；整個區塊都可能變動時為 null
+ * @param op      變動種類
+ */
+public record SectionChangedEvent(Section section, Long id, Op op) {
+
+    public enum Op { CREATE, UPDATE, DELETE }
+
+    public static SectionChangedEvent created(Section section, Long id) {
+        return new SectionChangedEvent(section, id, Op.CREATE);
+    }
+
+    public static SectionChangedEvent updated(Section section, Long id) {
+        return new SectionChangedEvent(section, id, Op.UPDATE);
+    }
+
+    public static SectionChangedEvent deleted(Section section, Long id) {
+        return new SectionChangedEvent(section, id, Op.DELETE);
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.demo.feed;
+
+import com.example.demo.cache.SectionVersions;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.metrics.MetricsRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 區塊變更的 SSE 推播：Service 寫入 commit 之後，每筆變更送出 {section, id, op, version}。
+ * <ul>
+ *   <li>閒置的連線只是 servlet async 的 SseEmitter，不占執行緒；送出由少數幾條 dispatch 執行緒負責</li>
+ *   <li>最近的變更放在環形紀錄裡，斷線重連時依 Last-Event-ID 補送；太舊或重啟過就送 reset，請前端整個重抓</li>
+ *   <li>每個訂閱者一個有界佇列，收太慢塞滿了就斷線（背壓），不會拖慢其他人或吃光記憶體</li>
+ * </ul>
+ */
+@Component
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeed implements SmartLifecycle {
+
+    /** 一筆變更；seq 在這次啟動內遞增，SSE 的事件 id 是「啟動代號-seq」 */
+    public record Change(long seq, Section section, Long id, SectionChangedEvent.Op op, long version, String json) {}
+
+    /** 補送不了時通知前端重抓全部；seq 是目前最新的一筆，之後重連從這裡接續 */
+    private record Reset(long seq) {}
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final ChangeFeedProperties props;
+    private final SectionVersions versions;
+    private final ObjectMapper mapper;
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    /** log 與 nextSeq 都由 lock 保護；推送也在鎖內排入佇列，補送與即時事件才不會重複或漏掉 */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Change[] log;
+    private long nextSeq = 1;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /** 占用中的連線名額；先保留再建立訂閱，同時進來的連線不會一起通過上限檢查 */
+    private final AtomicInteger slots = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+
+    private volatile ExecutorService dispatcher;
+    private volatile ScheduledExecutorService heartbeats;
+
+    public ChangeFeed(ChangeFeedProperties props, SectionVersions versions, ObjectMapper mapper,
+                      MetricsRegistry metrics) {
+        this.props = props;
+        this.versions = versions;
+        this.mapper = mapper;
+        this.log = new Change[Math.max(1, props.getLogSize())];
+        metrics.registerGauge("portfolio_events_subscribers", "Open /api/events connections", subscribers::size);
+        metrics.registerGauge("portfolio_events_published_total", "Changes published to /api/events", published::sum);
+        metrics.registerGauge("portfolio_events_slow_disconnects_total",
+                "Subscribers disconnected because their buffer was full", slowDisconnects::sum);
+    }
+
+    /**
+     * 新的訂閱；sections 為空表示全部區塊。lastEventId 是瀏覽器重連時帶的 Last-Event-ID，
+     * 有的話先補送之後的變更。
+     */
+    public SseEmitter subscribe(Set<Section> sections, String lastEventId) throws IOException {
+        return subscribe(new SseEmitter(props.getTimeout().toMillis()), sections, lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Set<Section> sections, String lastEventId) throws IOException {
+        if (!reserveSlot()) {
+            throw new TooManySubscribersException();
+        }
+        Subscriber s = new Subscriber(emitter, sections, props.getSubscriberBuffer());
+        emitter.onCompletion(() -> unsubscribe(s));
+        emitter.onTimeout(() -> unsubscribe(s));
+        emitter.onError(e -> unsubscribe(s));
+        try {
+            // 先送出一行，讓回應標頭馬上出去，前端的 onopen 才會觸發
+            emitter.send(SseEmitter.event().reconnectTime(props.getRetry().toMillis()).comment("connected"));
+        } catch (IOException | RuntimeException e) {
+            slots.decrementAndGet();
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<Change> missed = missedSince(lastEventId);
+                if (missed == null || missed.size() > props.getSubscriberBuffer()) {
+                    s.queue.offer(new Reset(nextSeq - 1));
+                } else {
+                    missed.stream().filter(c -> s.wants(c.section())).forEach(s.queue::offer);
+                }
+            }
+            subscribers.add(s);
+        } finally {
+            lock.unlock();
+        }
+        schedule(s);
+        return emitter;
+    }
+
+    private boolean reserveSlot() {
+        int used;
+        do {
+            used = slots.get();
+            if (used >= props.getMaxSubscribers()) {
+                return false;
+            }
+        } while (!slots.compareAndSet(used, used + 1));
+        return true;
+    }
+
+    /** 移除並歸還名額；重複呼叫（斷線、逾時、送出失敗同時發生）只會歸還一次 */
+    private boolean unsubscribe(Subscriber s) {
+        if (subscribers.remove(s)) {
+            slots.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /** 排在 SectionVersions 之後，送出的 version 才是新的 */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        for (Section section : event.section().affected()) {
+            if (section == event.section()) {
+                append(section, event.id(), event.op());
+            } else {
+                // 連帶受影響的區塊（分類 ↔ 技能）不知道是哪幾筆，當成整個區塊更新
+                append(section, null, SectionChangedEvent.Op.UPDATE);
+            }
+        }
+    }
+
+    private void append(Section section, Long id, SectionChangedEvent.Op op) {
+        long version = versions.get(section);
+        lock.lock();
+        try {
+            long seq = nextSeq++;
+            Change change = new Change(seq, section, id, op, version, toJson(section, id, op, version));
+            log[(int) (seq % log.length)] = change;
+            published.increment();
+            for (Subscriber s : subscribers) {
+                if (s.wants(section)) {
+                    enqueue(s, change);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** lastEventId 之後的變更；不是這次啟動的 id 或已經被環形紀錄蓋掉時回傳 null */
+    private List<Change> missedSince(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash <= 0 || !lastEventId.substring(0, dash).equals(bootId)) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = Math.max(1, nextSeq - log.length);
+        if (last < oldest - 1 || last >= nextSeq) {
+            return null;
+        }
+        List<Change> missed = new ArrayList<>((int) (nextSeq - last - 1));
+        for (long seq = last + 1; seq < nextSeq; seq++) {
+            missed.add(log[(int) (seq % log.length)]);
+        }
+        return missed;
+    }
+
+    private void enqueue(Subscriber s, Object item) {
+        if (s.queue.offer(item)) {
+            schedule(s);
+        } else if (unsubscribe(s)) {
+            // 收太慢：丟掉積壓的事件並斷線，重連時會從環形紀錄補送
+            slowDisconnects.increment();
+            s.overflowed = true;
+            s.queue.clear();
+            schedule(s);
+        }
+    }
+
+    private void schedule(Subscriber s) {
+        ExecutorService d = dispatcher;
+        if (d != null && s.draining.compareAndSet(false, true)) {
+            try {
+                d.execute(() -> drain(s));
+            } catch (RejectedExecutionException e) {
+                s.draining.set(false);
+            }
+        }
+    }
+
+    /** 同一個訂閱者同時只會有一條執行緒在送，事件順序不會亂 */
+    private void drain(Subscriber s) {
+        try {
+            Object item;
+            while (!s.done && (item = s.queue.poll()) != null) {
+                s.emitter.send(toEvent(item));
+            }
+            if (s.overflowed && !s.done) {
+                s.done = true;
+                s.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 對方已經斷線或連線已結束
+            s.done = true;
+            unsubscribe(s);
+        } finally {
+            s.draining.set(false);
+        }
+        if (!s.done && (s.overflowed || !s.queue.isEmpty())) {
+            schedule(s);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(Object item) {
+        if (item == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        if (item instanceof Reset reset) {
+            return SseEmitter.event().id(bootId + "-" + reset.seq()).name("reset").data("{}");
+        }
+        Change change = (Change) item;
+        return SseEmitter.event().id(bootId + "-" + change.seq()).name("change").data(change.json());
+    }
+
+    private String toJson(Section section, Long id, SectionChangedEvent.Op op, long version) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("section", section.getKey());
+        body.put("id", id);
+        body.put("op", op.name());
+        body.put("version", version);
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber s : subscribers) {
+            enqueue(s, HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void start() {
+        dispatcher = Executors.newFixedThreadPool(Math.max(1, props.getDispatchThreads()), daemon("change-feed-"));
+        heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("change-feed-heartbeat-"));
+        long period = props.getHeartbeat().toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService h = heartbeats;
+        ExecutorService d = dispatcher;
+        heartbeats = null;
+        dispatcher = null;
+        if (h != null) {
+            h.shutdownNow();
+        }
+        if (d != null) {
+            d.shutdownNow();
+        }
+        for (Subscriber s : subscribers) {
+            s.done = true;
+            s.emitter.complete();
+            unsubscribe(s);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<Section> sections;
+        final BlockingQueue<Object> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile boolean done;
+
+        Subscriber(SseEmitter emitter, Set<Section> sections, int capacity) {
+            this.emitter = emitter;
+            this.sections = sections;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+
+        boolean wants(Section section) {
+            return sections.isEmpty() || sections.contains(section);
+        }
+    }
+
+    /** 連線數已達上限，回 503 */
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class TooManySubscribersException extends RuntimeException {
+        public TooManySubscribersException() {
+            super("Too many /api/events subscribers");
+        }
+    }
+}
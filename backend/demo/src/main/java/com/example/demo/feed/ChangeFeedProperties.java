@@ -0,0 +1,54 @@
+package com.example.demo.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 變更推播 /api/events 的設定（application.properties 的 portfolio.events.*）。
+ */
+@ConfigurationProperties(prefix = "portfolio.events")
+public class ChangeFeedProperties {
+
+    /** 記憶體裡保留最近幾筆變更，斷線重連時依 Last-Event-ID 補送 */
+    private int logSize = 1024;
+
+    /** 每個訂閱者最多積幾筆還沒送出的事件；塞滿代表對方收太慢，直接斷線讓它重連補送 */
+    private int subscriberBuffer = 256;
+
+    /** 同時連線數上限，超過回 503 */
+    private int maxSubscribers = 10000;
+
+    /** 負責送出事件的執行緒數；閒置的連線不占執行緒 */
+    private int dispatchThreads = 2;
+
+    /** 沒有變更時多久送一次心跳（SSE 註解），避免代理伺服器把閒置連線切掉 */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /** 單一連線最長維持多久，時間到由瀏覽器自動重連 */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /** 告訴瀏覽器斷線後隔多久重連（SSE retry） */
+    private Duration retry = Duration.ofSeconds(3);
+
+    public int getLogSize() { return logSize; }
+    public void setLogSize(int logSize) { this.logSize = logSize; }
+
+    public int getSubscriberBuffer() { return subscriberBuffer; }
+    public void setSubscriberBuffer(int subscriberBuffer) { this.subscriberBuffer = subscriberBuffer; }
+
+    public int getMaxSubscribers() { return maxSubscribers; }
+    public void setMaxSubscribers(int maxSubscribers) { this.maxSubscribers = maxSubscribers; }
+
+    public int getDispatchThreads() { return dispatchThreads; }
+    public void setDispatchThreads(int dispatchThreads) { this.dispatchThreads = dispatchThreads; }
+
+    public Duration getHeartbeat() { return heartbeat; }
+    public void setHeartbeat(Duration heartbeat) { this.heartbeat = heartbeat; }
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+    public Duration getRetry() { return retry; }
+    public void setRetry(Duration retry) { this.retry = retry; }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.frontend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.util.ResourceUtils;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * bundled 模式：由 Spring Boot 直接提供前端打包檔，不需要另外的 nginx 容器。
+ * 有預先壓縮好的 .br / .gz 時依 Accept-Encoding 直接送出（EncodedResourceResolver），不在請求時壓縮；
+ * /assets/** 檔名帶雜湊所以永久快取，index.html 等其他檔案只快取很短的時間。
+ */
+@Configuration
+@ConditionalOnProperty(name = "portfolio.frontend.enabled", havingValue = "true")
+@EnableConfigurationProperties(FrontendProperties.class)
+public class FrontendConfig implements WebMvcConfigurer, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(FrontendConfig.class);
+
+    private static final Set<String> COMPRESSIBLE = Set.of("js", "mjs", "css", "html", "svg", "json", "txt", "xml", "map", "ico");
+    private static final long MIN_COMPRESS_SIZE = 1024;
+
+    private final FrontendProperties props;
+
+    public FrontendConfig(FrontendProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations(props.getLocation() + "assets/")
+                .setCacheControl(CacheControl.maxAge(props.getAssetsMaxAge().toSeconds(), TimeUnit.SECONDS)
+                        .cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations(props.getLocation())
+                .setCacheControl(CacheControl.maxAge(props.getIndexMaxAge().toSeconds(), TimeUnit.SECONDS)
+                        .cachePublic())
+                // 不加 CachingResourceResolver：它以請求路徑為鍵，任意前端路由都會解析成 index.html 並各佔一筆，快取無上限
+                .resourceChain(false)
+                .addResolver(new SpaFallbackResourceResolver())
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+    }
+
+    @Override
+    public void addViewControllers(ViewControllerRegistry registry) {
+        registry.addViewController("/").setViewName("forward:/" + SpaFallbackResourceResolver.INDEX);
+    }
+
+    /** 啟動時替缺少 .gz 的文字檔補上（.br 需要 build 時的 scripts/precompress.mjs） */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!props.isGzipOnStartup() || !props.getLocation().startsWith(ResourceUtils.FILE_URL_PREFIX)) {
+            return;
+        }
+        Path root = Path.of(props.getLocation().substring(ResourceUtils.FILE_URL_PREFIX.length()));
+        if (!Files.isDirectory(root)) {
+            log.warn("Frontend location {} does not exist", root.toAbsolutePath());
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            long count = files.filter(FrontendConfig::needsGzip).filter(FrontendConfig::gzip).count();
+            log.info("Precompressed {} frontend files in {}", count, root.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Could not precompress frontend files in {}: {}", root, e.getMessage());
+        }
+    }
+
+    private static boolean needsGzip(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        try {
+            return Files.isRegularFile(file)
+                    && dot > 0 && COMPRESSIBLE.contains(name.substring(dot + 1))
+                    && Files.size(file) >= MIN_COMPRESS_SIZE
+                    && !Files.exists(file.resolveSibling(name + ".gz"));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** 先寫暫存檔再改名，避免請求讀到寫一半的 .gz */
+    private static boolean gzip(Path file) {
+        Path target = file.resolveSibling(file.getFileName() + ".gz");
+        Path tmp = file.resolveSibling(file.getFileName() + ".gz.tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                Files.copy(file, out);
+            }
+            Files.move(tmp, target);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not gzip {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.frontend;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 由後端直接提供前端打包檔的設定（application.properties 的 portfolio.frontend.*）。
+ * 預設關閉；bundled profile 會開啟。
+ */
+@ConfigurationProperties(prefix = "portfolio.frontend")
+public class FrontendProperties {
+
+    private boolean enabled = false;
+
+    /** Vite 打包輸出（dist）的位置，例如 file:/app/static/ 或 classpath:/static/ */
+    private String location = "file:static/";
+
+    /** 檔名帶雜湊的 /assets/** 內容不會變，可以永久快取 */
+    private Duration assetsMaxAge = Duration.ofDays(365);
+
+    /** index.html 與其他沒有雜湊的檔案 */
+    private Duration indexMaxAge = Duration.ofSeconds(60);
+
+    /** 啟動時替沒有 .gz 的文字檔補產生（只對 file: 位置有效；.br 需要在 build 時用 Node 產生） */
+    private boolean gzipOnStartup = true;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location.endsWith("/") ? location : location + "/"; }
+
+    public Duration getAssetsMaxAge() { return assetsMaxAge; }
+    public void setAssetsMaxAge(Duration assetsMaxAge) { this.assetsMaxAge = assetsMaxAge; }
+
+    public Duration getIndexMaxAge() { return indexMaxAge; }
+    public void setIndexMaxAge(Duration indexMaxAge) { this.indexMaxAge = indexMaxAge; }
+
+    public boolean isGzipOnStartup() { return gzipOnStartup; }
+    public void setGzipOnStartup(boolean gzipOnStartup) { this.gzipOnStartup = gzipOnStartup; }
+}
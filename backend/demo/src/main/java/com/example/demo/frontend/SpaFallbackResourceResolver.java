@@ -0,0 +1,43 @@
+package com.example.demo.frontend;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+/**
+ * React Router 的前端路由（/projects、/skill …）在伺服器上沒有對應檔案，改送 index.html。
+ * 只處理沒有副檔名的路徑；/api 與找不到的靜態檔（例如 /assets/missing.js）照常回 404。
+ */
+class SpaFallbackResourceResolver extends AbstractResourceResolver {
+
+    static final String INDEX = "index.html";
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource != null || request == null || !isClientRoute(requestPath)) {
+            return resource;
+        }
+        return chain.resolveResource(request, INDEX, locations);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    private static boolean isClientRoute(String path) {
+        if (path.isEmpty()) {
+            return true;
+        }
+        if (path.startsWith("api/") || path.equals("api")) {
+            return false;
+        }
+        return path.lastIndexOf('.') <= path.lastIndexOf('/');
+    }
+}
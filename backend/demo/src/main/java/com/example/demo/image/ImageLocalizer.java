@@ -0,0 +1,145 @@
+package com.example.demo.image;
+
+import com.example.demo.cache.ReadModel;
+import com.example.demo.entity.Activity;
+import com.example.demo.entity.Award;
+import com.example.demo.entity.Certification;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.WorkExperience;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 把 entity 上指向外部主機的圖片網址下載到本機圖片庫，並改寫成 /api/images/... 。
+ * 同一個外部網址只下載一次；下載失敗的保留原網址，下次再試。
+ */
+@Service
+public class ImageLocalizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageLocalizer.class);
+
+    /** original：下載時讀到的網址，改寫時用來確認管理者沒有在下載期間改過 */
+    private record Rewrite(Target target, Long id, String original, String url) {}
+
+    private record Target(Section section, String table, String column,
+                          Supplier<List<?>> items, Function<Object, Long> idOf, Function<Object, String> urlOf) {}
+
+    private final ImageStore store;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final HttpClient http;
+    private final Duration timeout;
+    private final List<Target> targets;
+
+    public ImageLocalizer(ImageStore store, ImageProperties props, ReadModel readModel,
+                          JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                          ApplicationEventPublisher events) {
+        this.store = store;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.events = events;
+        this.timeout = props.getDownloadTimeout();
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.targets = List.of(
+            target(Section.PROJECTS, "projects", "image_url", () -> readModel.projects().all(),
+                    Project::getId, Project::getImageUrl),
+            target(Section.AWARDS, "awards", "image_url", () -> readModel.awards().all(),
+                    Award::getId, Award::getImageUrl),
+            target(Section.CERTIFICATIONS, "certifications", "image_url", () -> readModel.certifications().all(),
+                    Certification::getId, Certification::getImageUrl),
+            target(Section.ACTIVITIES, "activities", "image_url", () -> readModel.activities().all(),
+                    Activity::getId, Activity::getImageUrl),
+            target(Section.EXPERIENCES, "work_experiences", "logo_url", () -> readModel.experiences().all(),
+                    WorkExperience::getId, WorkExperience::getLogoUrl)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Target target(Section section, String table, String column, Supplier<List<T>> items,
+                                     Function<T, Long> idOf, Function<T, String> urlOf) {
+        return new Target(section, table, column, (Supplier<List<?>>) (Supplier<?>) items,
+                (Function<Object, Long>) idOf, (Function<Object, String>) urlOf);
+    }
+
+    /**
+     * 先下載（不佔用資料庫連線），再用一個交易改寫網址；回傳每個區塊改寫了幾筆。
+     * 只改寫網址仍是下載前那個的資料列，下載期間被管理者改掉的保留新值。
+     */
+    public Map<String, Integer> localizeAll() {
+        Map<String, String> downloaded = new HashMap<>();
+        List<Rewrite> rewrites = new ArrayList<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Target target : targets) {
+            counts.put(target.section().getKey(), 0);
+            for (Object item : target.items().get()) {
+                String url = target.urlOf().apply(item);
+                if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+                    continue;
+                }
+                String local = downloaded.computeIfAbsent(url, this::download);
+                if (local != null) {
+                    rewrites.add(new Rewrite(target, target.idOf().apply(item), url, local));
+                }
+            }
+        }
+        tx.executeWithoutResult(status -> {
+            for (Rewrite r : rewrites) {
+                String column = r.target().column();
+                int updated = jdbc.update("UPDATE " + r.target().table() + " SET " + column + " = ? WHERE id = ? AND "
+                        + column + " = ?", r.url(), r.id(), r.original());
+                if (updated > 0) {
+                    counts.merge(r.target().section().getKey(), updated, Integer::sum);
+                    events.publishEvent(SectionChangedEvent.updated(r.target().section(), r.id()));
+                }
+            }
+        });
+        return counts;
+    }
+
+    /** 下載並存入圖片庫，失敗回傳 null */
+    private String download(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    log.warn("Skip image {}: HTTP {}", url, response.statusCode());
+                    return null;
+                }
+                return store.store(body).url();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Skip image {}: {}", url, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.image;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 本機圖片儲存設定（application.properties 的 portfolio.images.*）。
+ */
+@ConfigurationProperties(prefix = "portfolio.images")
+public class ImageProperties {
+
+    /** 圖片存放目錄，檔名是內容的 SHA-256 */
+    private String dir = "data/images";
+
+    /** 單張圖片上限（上傳與從外部網址下載都適用） */
+    private DataSize maxSize = DataSize.ofMegabytes(10);
+
+    /** 從外部網址下載的逾時 */
+    private Duration downloadTimeout = Duration.ofSeconds(20);
+
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+
+    public DataSize getMaxSize() { return maxSize; }
+    public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+
+    public Duration getDownloadTimeout() { return downloadTimeout; }
+    public void setDownloadTimeout(Duration downloadTimeout) { this.downloadTimeout = downloadTimeout; }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 把圖片檔案直接送到 socket：
+ * Tomcat 支援 sendfile 時只設定 request attribute，由 connector 呼叫 sendfile(2)，檔案內容不經過 Java heap；
+ * 不支援時（例如換成其他容器）才退回 FileChannel.transferTo 寫到 response stream。
+ * 支援單一區段的 Range、If-Range 與 If-None-Match。
+ */
+@Component
+public class ImageSender {
+
+    /** 內容定址的檔案永遠不會變 */
+    static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /** ?w= 的縮圖還沒產生、暫時送原圖時：之後同一個網址會換成縮圖，每次都要回來驗證 */
+    static final String PROVISIONAL_CACHE_CONTROL = "no-cache";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private record Range(long start, long end) {
+        long length() { return end - start; }
+    }
+
+    public void send(StoredImage image, Path file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        send(image, file, false, request, response);
+    }
+
+    /** provisional：這個網址之後會換成別的檔案（縮圖還沒產生），不能 immutable 快取 */
+    public void send(StoredImage image, Path file, boolean provisional,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = "\"" + image.hash() + "\"";
+        long size = image.size();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, provisional ? PROVISIONAL_CACHE_CONTROL : CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Range range = new Range(0, size);
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            range = parseRange(rangeHeader, size);
+            if (range == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (range.length() < size) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.start() + "-" + (range.end() - 1) + "/" + size);
+            }
+        }
+
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(range.length());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            while (position < range.end()) {
+                position += channel.transferTo(position, range.end() - position, out);
+            }
+        }
+    }
+
+    /**
+     * bytes=0-99、bytes=100-、bytes=-100；多個區段時只回整份檔案（規格允許忽略 Range）。
+     * 格式錯誤同樣忽略，範圍超出檔案大小則回傳 null（416）。
+     */
+    static Range parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new Range(0, size);
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new Range(0, size);
+        }
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+            if (from.isEmpty()) {
+                long suffix = Long.parseLong(to);
+                return suffix <= 0 ? null : new Range(Math.max(0, size - suffix), size);
+            }
+            long start = Long.parseLong(from);
+            long end = to.isEmpty() ? size : Math.min(size, Long.parseLong(to) + 1);
+            return start >= size || end <= start ? null : new Range(start, end);
+        } catch (NumberFormatException e) {
+            return new Range(0, size);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
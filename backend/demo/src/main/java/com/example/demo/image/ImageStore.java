@@ -0,0 +1,157 @@
+package com.example.demo.image;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 以內容定址的本機圖片庫：檔名是內容的 SHA-256，所以同一張圖只存一份，
+ * 而且檔案一旦寫入就不會再變，可以放心給瀏覽器永久快取。
+ * 存放位置是 {dir}/{雜湊前兩碼}/{雜湊}.{副檔名}，避免單一目錄檔案過多；縮圖是同目錄的 {雜湊}-{寬}.{副檔名}。
+ */
+@Component
+@EnableConfigurationProperties(ImageProperties.class)
+public class ImageStore {
+
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{64}(-[0-9]{1,5})?\\.(png|jpg|gif|webp)");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "png", "image/png",
+        "jpg", "image/jpeg",
+        "gif", "image/gif",
+        "webp", "image/webp"
+    );
+
+    private final Path root;
+    private final long maxSize;
+
+    public ImageStore(ImageProperties props) throws IOException {
+        this.root = Path.of(props.getDir()).toAbsolutePath().normalize();
+        this.maxSize = props.getMaxSize().toBytes();
+        Files.createDirectories(root);
+    }
+
+    /**
+     * 邊讀邊算雜湊寫到暫存檔，確認是支援的圖片格式後再搬到最終位置。
+     * 只接受 PNG / JPEG / GIF / WebP（依檔頭判斷，不信任副檔名）；SVG 可以夾帶腳本所以不收。
+     */
+    public StoredImage store(InputStream in) throws IOException {
+        Path tmp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest sha256 = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), sha256)) {
+                size = copyLimited(in, out);
+            }
+            String ext = detectExtension(tmp);
+            String name = HexFormat.of().formatHex(sha256.digest()) + "." + ext;
+            Path target = pathOf(name);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredImage(name, size, CONTENT_TYPES.get(ext));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** 依檔名找圖片；名稱格式不符（例如 ../）或不存在都回傳 empty */
+    public Optional<StoredImage> find(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(name);
+        try {
+            return Optional.of(new StoredImage(name, Files.size(path), contentTypeOf(name)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Path pathOf(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    /** 是否為本機圖片網址 */
+    public static boolean isLocalUrl(String url) {
+        return url != null && url.startsWith(StoredImage.URL_PREFIX);
+    }
+
+    static String contentTypeOf(String name) {
+        return CONTENT_TYPES.get(name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private long copyLimited(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            total += n;
+            if (total > maxSize) {
+                throw new ImageTooLargeException(maxSize);
+            }
+            out.write(buffer, 0, n);
+        }
+        return total;
+    }
+
+    private static String detectExtension(Path file) throws IOException {
+        byte[] head = new byte[12];
+        int n;
+        try (InputStream in = Files.newInputStream(file)) {
+            n = in.readNBytes(head, 0, head.length);
+        }
+        if (n >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "png";
+        }
+        if (n >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (n >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "gif";
+        }
+        if (n >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "webp";
+        }
+        throw new UnsupportedImageException();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+    public static class UnsupportedImageException extends IllegalArgumentException {
+        public UnsupportedImageException() {
+            super("Only PNG, JPEG, GIF and WebP images are supported");
+        }
+    }
+
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public static class ImageTooLargeException extends IllegalArgumentException {
+        public ImageTooLargeException(long maxSize) {
+            super("Image exceeds " + maxSize + " bytes");
+        }
+    }
+}
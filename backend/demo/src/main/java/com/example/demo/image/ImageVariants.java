@@ -0,0 +1,264 @@
+package com.example.demo.image;
+
+import com.example.demo.cache.ReadModel;
+import com.example.demo.entity.Activity;
+import com.example.demo.entity.Award;
+import com.example.demo.entity.Certification;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.WorkExperience;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 本機圖片的縮圖：每張原圖產生 160 / 480 / 1280 寬的版本，存成 {雜湊}-{寬}.{副檔名}。
+ * 在背景執行緒池產生（執行緒數 = CPU 核心數，佇列有上限，滿了就先略過，下次觸發再補），
+ * 上傳與區塊寫入都不必等待；還沒產生好之前，?w= 會先送原圖（不長期快取，見 {@link Fit}）。
+ * 比原圖寬的版本不產生，那些寬度直接送原圖。
+ * 只處理 PNG 與 JPEG（JDK 的 ImageIO 讀不了 WebP，GIF 縮放會失去動畫）。
+ */
+@Component
+public class ImageVariants implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariants.class);
+
+    /** 縮圖寬度，由小到大：卡片縮圖、卡片、全寬 */
+    public static final List<Integer> WIDTHS = List.of(160, 480, 1280);
+
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * ?w= 要送的檔案。provisional 表示縮圖還沒產生、暫時送原圖：
+     * 同一個網址之後會換成縮圖，不能用 immutable 快取。
+     */
+    public record Fit(StoredImage image, boolean provisional) {}
+
+    private final ImageStore store;
+    private final ReadModel readModel;
+    private final ThreadPoolExecutor pool;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    /** 原圖寬度，只讀檔頭取得；筆數與磁碟上的原圖相同 */
+    private final Map<String, Integer> sourceWidths = new ConcurrentHashMap<>();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public ImageVariants(ImageStore store, ReadModel readModel, MetricsRegistry metrics) {
+        this.store = store;
+        this.readModel = readModel;
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "image-variant-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        metrics.registerGauge("portfolio_image_variants_generated_total", "Image variants written to disk", generated::sum);
+        metrics.registerGauge("portfolio_image_variants_skipped_total", "Variant jobs skipped because the queue was full", skipped::sum);
+        metrics.registerGauge("portfolio_image_variants_queued", "Images waiting for variant generation", () -> pool.getQueue().size());
+    }
+
+    /** 檔名：{雜湊}-{寬}.{副檔名} */
+    public static String variantName(String name, int width) {
+        int dot = name.lastIndexOf('.');
+        return name.substring(0, dot) + "-" + width + name.substring(dot);
+    }
+
+    /** 是否會為這張圖產生縮圖 */
+    public static boolean supports(String name) {
+        return name.endsWith(".png") || name.endsWith(".jpg");
+    }
+
+    /** 排入背景產生；已經產生過或已在佇列中就不重複排 */
+    public void schedule(StoredImage image) {
+        if (!supports(image.name()) || allExist(image.name()) || !pending.add(image.name())) {
+            return;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    generate(image.name());
+                } catch (Exception e) {
+                    log.warn("Failed to generate variants for {}: {}", image.name(), e.getMessage());
+                } finally {
+                    pending.remove(image.name());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 佇列滿了：先略過，之後再被觸發時會重新排入
+            pending.remove(image.name());
+            skipped.increment();
+        }
+    }
+
+    /**
+     * 寬度 width 的最佳版本：大於等於 width 的最小縮圖。都比它小、原圖不支援、或原圖本身不比那個縮圖寬時，
+     * 原圖就是答案；縮圖該有但還沒產生時暫時送原圖並排入產生。
+     */
+    public Fit bestFit(StoredImage original, int width) {
+        if (!supports(original.name())) {
+            return new Fit(original, false);
+        }
+        for (int w : WIDTHS) {
+            if (w >= width) {
+                if (w >= sourceWidth(original.name())) {
+                    return new Fit(original, false);
+                }
+                Optional<StoredImage> variant = store.find(variantName(original.name(), w));
+                if (variant.isPresent()) {
+                    return new Fit(variant.get(), false);
+                }
+                schedule(original);
+                return new Fit(original, true);
+            }
+        }
+        return new Fit(original, false);
+    }
+
+    /** 區塊寫入 commit 後（ReadModel 更新完），替新的本機圖片排入縮圖 */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        if (event.op() == SectionChangedEvent.Op.DELETE) {
+            return;
+        }
+        imageUrls(event.section(), event.id())
+                .filter(ImageStore::isLocalUrl)
+                .map(url -> url.substring(StoredImage.URL_PREFIX.length()))
+                .map(store::find)
+                .flatMap(Optional::stream)
+                .forEach(this::schedule);
+    }
+
+    private Stream<String> imageUrls(Section section, Long id) {
+        return switch (section) {
+            case PROJECTS -> (id == null ? readModel.projects().all().stream() : readModel.projects().find(id).stream())
+                    .map(Project::getImageUrl);
+            case AWARDS -> (id == null ? readModel.awards().all().stream() : readModel.awards().find(id).stream())
+                    .map(Award::getImageUrl);
+            case CERTIFICATIONS -> (id == null ? readModel.certifications().all().stream() : readModel.certifications().find(id).stream())
+                    .map(Certification::getImageUrl);
+            case ACTIVITIES -> (id == null ? readModel.activities().all().stream() : readModel.activities().find(id).stream())
+                    .map(Activity::getImageUrl);
+            case EXPERIENCES -> (id == null ? readModel.experiences().all().stream() : readModel.experiences().find(id).stream())
+                    .map(WorkExperience::getLogoUrl);
+            default -> Stream.empty();
+        };
+    }
+
+    /** 比原圖窄的縮圖都已經存在（比原圖寬的不會產生） */
+    private boolean allExist(String name) {
+        int source = sourceWidth(name);
+        return WIDTHS.stream().filter(w -> w < source).allMatch(w -> Files.exists(store.pathOf(variantName(name, w))));
+    }
+
+    /** 只讀檔頭取得寬度，不解碼整張圖；讀不出來時回傳 0（不產生縮圖，一律送原圖） */
+    private int sourceWidth(String name) {
+        return sourceWidths.computeIfAbsent(name, n -> {
+            try (ImageInputStream in = ImageIO.createImageInputStream(store.pathOf(n).toFile())) {
+                Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+                if (readers == null || !readers.hasNext()) {
+                    return 0;
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    return reader.getWidth(0);
+                } finally {
+                    reader.dispose();
+                }
+            } catch (IOException e) {
+                return 0;
+            }
+        });
+    }
+
+    /** 解碼一次，由大到小依序縮；比原圖寬的版本不產生 */
+    private void generate(String name) throws IOException {
+        BufferedImage source = ImageIO.read(store.pathOf(name).toFile());
+        if (source == null) {
+            return;
+        }
+        sourceWidths.put(name, source.getWidth());
+        String format = name.endsWith(".png") ? "png" : "jpg";
+        BufferedImage current = source;
+        for (int i = WIDTHS.size() - 1; i >= 0; i--) {
+            int width = WIDTHS.get(i);
+            if (width >= source.getWidth()) {
+                continue;
+            }
+            current = scale(current, width, format.equals("png"));
+            Path target = store.pathOf(variantName(name, width));
+            if (Files.exists(target)) {
+                continue;
+            }
+            Path tmp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+            try {
+                ImageIO.write(current, format, tmp.toFile());
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                generated.increment();
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    /** 每次最多縮一半，避免一次大幅縮小產生鋸齒 */
+    private static BufferedImage scale(BufferedImage image, int width, boolean alpha) {
+        BufferedImage current = image;
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        do {
+            int w = Math.max(width, current.getWidth() / 2);
+            int h = Math.max(1, (int) Math.round((double) image.getHeight() * w / image.getWidth()));
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() > width);
+        return current;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.image;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** 已存入本機的圖片；name 為「SHA-256.副檔名」，縮圖為「SHA-256-寬.副檔名」 */
+public record StoredImage(String name, long size, String contentType) {
+
+    public static final String URL_PREFIX = "/api/images/";
+
+    /** 填入 entity imageUrl / logoUrl 的網址 */
+    @JsonProperty
+    public String url() {
+        return URL_PREFIX + name;
+    }
+
+    /** 內容雜湊（縮圖含寬度），同時當作 ETag */
+    @JsonIgnore
+    public String hash() {
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    /** 本機圖片網址的 srcset（各縮圖寬度）；外部網址或不產生縮圖的格式回傳 null */
+    public static String srcset(String url) {
+        if (!ImageStore.isLocalUrl(url) || !ImageVariants.supports(url)) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int w : ImageVariants.WIDTHS) {
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append(url).append("?w=").append(w).append(' ').append(w).append('w');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.logging;
+
+/**
+ * 一筆請求紀錄。請求執行緒只負責組出這個物件，格式化與寫檔都在背景進行。
+ */
+public record RequestLogEvent(
+        long timestamp,
+        String method,
+        String uri,
+        String call,
+        String args,
+        String ip) {
+}
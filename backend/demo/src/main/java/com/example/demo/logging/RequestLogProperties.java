@@ -0,0 +1,73 @@
+package com.example.demo.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 請求紀錄設定（application.properties 的 portfolio.request-log.*）。
+ */
+@ConfigurationProperties(prefix = "portfolio.request-log")
+public class RequestLogProperties {
+
+    private boolean enabled = true;
+
+    /** 紀錄檔位置，一行一筆 JSON */
+    private String file = "logs/requests.jsonl";
+
+    /** 單一檔案上限，超過就輪替成 .1、.2 … */
+    private DataSize maxFileSize = DataSize.ofMegabytes(10);
+
+    /** 保留幾個輪替過的舊檔 */
+    private int maxHistory = 5;
+
+    /** 環形緩衝區容量；滿了直接丟棄並計數，不會卡住請求執行緒 */
+    private int bufferSize = 8192;
+
+    /** 背景寫入每批最多幾筆 */
+    private int batchSize = 256;
+
+    /** 沒有新事件時最久多久 flush 一次 */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** 取樣比例，0 ~ 1 */
+    private double sampleRate = 1.0;
+
+    /** 每個參數最多保留幾個字元 */
+    private int maxArgLength = 200;
+
+    /** Map 參數中要遮蔽的 key（不分大小寫） */
+    private List<String> redactedFields = List.of("password", "token", "secret");
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+
+    public DataSize getMaxFileSize() { return maxFileSize; }
+    public void setMaxFileSize(DataSize maxFileSize) { this.maxFileSize = maxFileSize; }
+
+    public int getMaxHistory() { return maxHistory; }
+    public void setMaxHistory(int maxHistory) { this.maxHistory = maxHistory; }
+
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public double getSampleRate() { return sampleRate; }
+    public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+
+    public int getMaxArgLength() { return maxArgLength; }
+    public void setMaxArgLength(int maxArgLength) { this.maxArgLength = maxArgLength; }
+
+    public List<String> getRedactedFields() { return redactedFields; }
+    public void setRedactedFields(List<String> redactedFields) { this.redactedFields = redactedFields; }
+}
@@ -0,0 +1,225 @@
+package com.example.demo.logging;
+
+import com.example.demo.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 非同步的請求紀錄輸出：請求執行緒 {@link #offer} 進有界佇列，
+ * 單一背景執行緒批次寫成 JSON Lines，檔案超過大小上限就輪替。
+ * 寫檔失敗時那一批算進 dropped，連續失敗只在第一次記一筆警告，避免把應用程式日誌洗掉。
+ */
+@Component
+@EnableConfigurationProperties(RequestLogProperties.class)
+public class RequestLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLogWriter.class);
+
+    private final RequestLogProperties props;
+    private final BlockingQueue<RequestLogEvent> queue;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public RequestLogWriter(RequestLogProperties props, MetricsRegistry metrics) {
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, props.getBufferSize()));
+        metrics.registerGauge("portfolio_request_log_enqueued_total", "Request log events accepted into the buffer", this::getEnqueued);
+        metrics.registerGauge("portfolio_request_log_dropped_total", "Request log events dropped because the buffer was full or the write failed", this::getDropped);
+        metrics.registerGauge("portfolio_request_log_written_total", "Request log events written to file", this::getWritten);
+        metrics.registerGauge("portfolio_request_log_write_errors_total", "Failed request log batch writes", this::getWriteErrors);
+        metrics.registerGauge("portfolio_request_log_queued", "Request log events waiting to be written", this::getQueued);
+    }
+
+    /** 放進緩衝區；滿了就丟掉，永遠不會阻塞呼叫端 */
+    public void offer(RequestLogEvent event) {
+        if (queue.offer(event)) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long getEnqueued() { return enqueued.sum(); }
+    public long getDropped() { return dropped.sum(); }
+    public long getWritten() { return written.sum(); }
+    public long getWriteErrors() { return writeErrors.sum(); }
+    public int getQueued() { return queue.size(); }
+
+    @Override
+    public void start() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "request-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        Path file = Path.of(props.getFile());
+        List<RequestLogEvent> batch = new ArrayList<>(props.getBatchSize());
+        long flushMillis = props.getFlushInterval().toMillis();
+        Writer out = null;
+        boolean failing = false;
+        try {
+            while (running || !queue.isEmpty()) {
+                RequestLogEvent first;
+                try {
+                    first = queue.poll(flushMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // stop() 時被中斷：把剩下的寫完再結束
+                    first = queue.poll();
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, props.getBatchSize() - 1);
+                try {
+                    out = rollIfNeeded(file, out);
+                    for (RequestLogEvent event : batch) {
+                        writeJson(out, event);
+                    }
+                    out.flush();
+                    written.add(batch.size());
+                    failing = false;
+                } catch (IOException e) {
+                    writeErrors.increment();
+                    dropped.add(batch.size());
+                    if (!failing) {
+                        log.warn("Request log write to {} failed, dropping events until it recovers", file, e);
+                        failing = true;
+                    }
+                    out = closeQuietly(out);
+                }
+                batch.clear();
+            }
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    private Writer rollIfNeeded(Path file, Writer out) throws IOException {
+        if (out != null && Files.size(file) < props.getMaxFileSize().toBytes()) {
+            return out;
+        }
+        closeQuietly(out);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        if (Files.exists(file) && Files.size(file) >= props.getMaxFileSize().toBytes()) {
+            for (int i = props.getMaxHistory() - 1; i >= 1; i--) {
+                Path from = file.resolveSibling(file.getFileName() + "." + i);
+                if (Files.exists(from)) {
+                    Files.move(from, file.resolveSibling(file.getFileName() + "." + (i + 1)),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (props.getMaxHistory() > 0) {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(file);
+            }
+        }
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+    }
+
+    private static Writer closeQuietly(Writer out) {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // 已經要換檔或結束了，忽略
+            }
+        }
+        return null;
+    }
+
+    private static void writeJson(Writer out, RequestLogEvent e) throws IOException {
+        out.write("{\"time\":\"");
+        out.write(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(e.timestamp())));
+        out.write("\",\"method\":");
+        writeString(out, e.method());
+        out.write(",\"uri\":");
+        writeString(out, e.uri());
+        out.write(",\"call\":");
+        writeString(out, e.call());
+        out.write(",\"args\":");
+        writeString(out, e.args());
+        out.write(",\"ip\":");
+        writeString(out, e.ip());
+        out.write("}\n");
+    }
+
+    private static void writeString(Writer out, String s) throws IOException {
+        if (s == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
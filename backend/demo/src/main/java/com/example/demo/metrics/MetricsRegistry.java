@@ -0,0 +1,72 @@
+package com.example.demo.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 各層延遲直方圖與計數器的集中處。
+ * 記錄時只做 map 查詢與原子遞增；標籤都來自有限集合（路由樣板、類別方法名、狀態碼），記憶體固定。
+ */
+@Component
+public class MetricsRegistry {
+
+    /** 延遲的所在層 */
+    public enum Layer { HTTP, SERVICE, REPOSITORY }
+
+    /** outcome：HTTP 層是狀態碼，其他層是 success / error */
+    public record Key(Layer layer, String name, String outcome) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key o) {
+            int c = layer.compareTo(o.layer);
+            if (c == 0) {
+                c = name.compareTo(o.name);
+            }
+            return c != 0 ? c : outcome.compareTo(o.outcome);
+        }
+    }
+
+    public record Gauge(String help, LongSupplier value) {}
+
+    private final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> sqlStatements = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    public LatencyHistogram histogram(Layer layer, String name, String outcome) {
+        Key key = new Key(layer, name, outcome);
+        LatencyHistogram h = histograms.get(key);
+        return h != null ? h : histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    /** 每個端點每次請求的 SQL 條數；沿用 LatencyHistogram，0~63 條是逐一計數 */
+    public LatencyHistogram sqlStatements(String endpoint) {
+        LatencyHistogram h = sqlStatements.get(endpoint);
+        return h != null ? h : sqlStatements.computeIfAbsent(endpoint, k -> new LatencyHistogram());
+    }
+
+    /** 其他元件登記要匯出的計數（例如丟棄數），名稱須符合 Prometheus 命名 */
+    public void registerGauge(String name, String help, LongSupplier value) {
+        gauges.put(name, new Gauge(help, value));
+    }
+
+    public Map<Key, LatencyHistogram> histograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public Map<String, LatencyHistogram> sqlStatements() {
+        return new TreeMap<>(sqlStatements);
+    }
+
+    public Map<String, Gauge> gauges() {
+        return gauges;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 把 {@link MetricsRegistry} 轉成 Prometheus 文字格式（0.0.4）。
+ * 延遲以 summary 輸出 p50/p90/p99/p999；吞吐量與錯誤率用 _count 搭配 status 標籤由 rate() 計算。
+ */
+public final class PrometheusFormatter {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private PrometheusFormatter() {}
+
+    public static String format(MetricsRegistry registry) {
+        StringBuilder sb = new StringBuilder(8192);
+        for (MetricsRegistry.Layer layer : MetricsRegistry.Layer.values()) {
+            String metric = "portfolio_" + layer.name().toLowerCase(Locale.ROOT) + "_duration_seconds";
+            boolean http = layer == MetricsRegistry.Layer.HTTP;
+            sb.append("# HELP ").append(metric).append(' ').append(help(layer)).append('\n');
+            sb.append("# TYPE ").append(metric).append(" summary\n");
+            for (Map.Entry<MetricsRegistry.Key, LatencyHistogram> e : registry.histograms().entrySet()) {
+                MetricsRegistry.Key key = e.getKey();
+                if (key.layer() != layer) {
+                    continue;
+                }
+                LatencyHistogram h = e.getValue();
+                String labels = (http ? "endpoint" : "method") + "=\"" + escape(key.name()) + "\","
+                        + (http ? "status" : "outcome") + "=\"" + key.outcome() + "\"";
+                for (double q : QUANTILES) {
+                    sb.append(metric).append('{').append(labels).append(",quantile=\"").append(q).append("\"} ")
+                      .append(seconds(h.percentile(q))).append('\n');
+                }
+                sb.append(metric).append("_sum{").append(labels).append("} ").append(seconds(h.sumMicros())).append('\n');
+                sb.append(metric).append("_count{").append(labels).append("} ").append(h.count()).append('\n');
+                sb.append(metric).append("_max{").append(labels).append("} ").append(seconds(h.maxMicros())).append('\n');
+            }
+        }
+        String statements = "portfolio_http_sql_statements";
+        sb.append("# HELP ").append(statements).append(" SQL statements per request and endpoint\n");
+        sb.append("# TYPE ").append(statements).append(" summary\n");
+        for (Map.Entry<String, LatencyHistogram> e : registry.sqlStatements().entrySet()) {
+            LatencyHistogram h = e.getValue();
+            String labels = "endpoint=\"" + escape(e.getKey()) + "\"";
+            for (double q : QUANTILES) {
+                sb.append(statements).append('{').append(labels).append(",quantile=\"").append(q).append("\"} ")
+                  .append(h.percentile(q)).append('\n');
+            }
+            sb.append(statements).append("_sum{").append(labels).append("} ").append(h.sumMicros()).append('\n');
+            sb.append(statements).append("_count{").append(labels).append("} ").append(h.count()).append('\n');
+            sb.append(statements).append("_max{").append(labels).append("} ").append(h.maxMicros()).append('\n');
+        }
+        for (Map.Entry<String, MetricsRegistry.Gauge> e : registry.gauges().entrySet()) {
+            sb.append("# HELP ").append(e.getKey()).append(' ').append(e.getValue().help()).append('\n');
+            sb.append("# TYPE ").append(e.getKey()).append(" gauge\n");
+            sb.append(e.getKey()).append(' ').append(e.getValue().value().getAsLong()).append('\n');
+        }
+        sb.append("# HELP portfolio_uptime_seconds Seconds since the application started\n");
+        sb.append("# TYPE portfolio_uptime_seconds gauge\n");
+        sb.append("portfolio_uptime_seconds ")
+          .append((System.currentTimeMillis() - registry.getStartedAt()) / 1000).append('\n');
+        return sb.toString();
+    }
+
+    private static String help(MetricsRegistry.Layer layer) {
+        return switch (layer) {
+            case HTTP -> "Controller latency per endpoint and status";
+            case SERVICE -> "Service method latency";
+            case REPOSITORY -> "Repository method latency";
+        };
+    }
+
+    private static String seconds(long micros) {
+        return Double.toString(micros / 1_000_000.0);
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
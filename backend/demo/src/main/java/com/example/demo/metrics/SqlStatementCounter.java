@@ -0,0 +1,85 @@
+package com.example.demo.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 計算每個端點實際送出幾條 SQL（只含經過 Hibernate 的語句，JdbcTemplate 不算）。
+ * 計數放在 ThreadLocal，請求開始與結束（回應已序列化完）各取一次相減，
+ * 所以 open-in-view 下序列化時觸發的延遲載入也會算進去，N+1 會直接反映在數字上。
+ * <p>
+ * 也是 applicationTaskExecutor 的 TaskDecorator（Spring Boot 會套用唯一的 TaskDecorator bean）：
+ * 工作在別的執行緒跑時沿用送出者的計數，/api/portfolio 平行載入各區塊的 SQL 才會算在那個請求上。
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer, HandlerInterceptor,
+        TaskDecorator {
+
+    private static final String START_ATTRIBUTE = SqlStatementCounter.class.getName() + ".start";
+
+    /** 平行工作會共用送出者的計數，所以用 AtomicLong */
+    private static final ThreadLocal<AtomicLong> CURRENT = ThreadLocal.withInitial(AtomicLong::new);
+
+    private final MetricsRegistry registry;
+    private final LongAdder total = new LongAdder();
+
+    public SqlStatementCounter(MetricsRegistry registry) {
+        this.registry = registry;
+        registry.registerGauge("portfolio_sql_statements_total",
+                "SQL statements issued through Hibernate since startup", total::sum);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        CURRENT.get().incrementAndGet();
+        total.increment();
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, CURRENT.get().get());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+        registry.sqlStatements(endpoint).record(CURRENT.get().get() - start);
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        AtomicLong submitter = CURRENT.get();
+        return () -> {
+            AtomicLong own = CURRENT.get();
+            CURRENT.set(submitter);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(own);
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 延伸 RequestLoggingAspect 的 controllerMethods() 切點，量測每個端點（依狀態碼）的延遲，
+ * 另外量測 service 與 repository 兩層的耗時。
+ */
+@Aspect
+@Component
+public class TimingAspect {
+
+    private final MetricsRegistry registry;
+
+    public TimingAspect(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("com.example.demo.aspect.RequestLoggingAspect.controllerMethods()")
+    public Object timeController(ProceedingJoinPoint pjp) throws Throwable {
+        long start = System.nanoTime();
+        int status = 500;
+        try {
+            Object result = pjp.proceed();
+            status = statusOf(pjp, result);
+            return result;
+        } catch (Throwable e) {
+            status = statusOf(e);
+            throw e;
+        } finally {
+            registry.histogram(MetricsRegistry.Layer.HTTP, endpoint(), Integer.toString(status))
+                    .recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    @Around("execution(* com.example.demo.service..*(..))")
+    public Object timeService(ProceedingJoinPoint pjp) throws Throwable {
+        return time(pjp, MetricsRegistry.Layer.SERVICE, pjp.getSignature().toShortString());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint pjp) throws Throwable {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(pjp.getThis());
+        String type = interfaces.length > 0 ? interfaces[0].getSimpleName() : pjp.getSignature().getDeclaringTypeName();
+        return time(pjp, MetricsRegistry.Layer.REPOSITORY, type + "." + pjp.getSignature().getName() + "(..)");
+    }
+
+    private Object time(ProceedingJoinPoint pjp, MetricsRegistry.Layer layer, String name) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = pjp.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            registry.histogram(layer, name, outcome).recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    /** 例如 "GET /api/projects/{id}"，用路由樣板而不是實際路徑，避免標籤無限增長 */
+    private static String endpoint() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return "UNKNOWN";
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+    }
+
+    private static int statusOf(ProceedingJoinPoint pjp, Object result) {
+        if (result instanceof ResponseEntity<?> entity) {
+            return entity.getStatusCode().value();
+        }
+        ResponseStatus annotated = AnnotatedElementUtils.findMergedAnnotation(
+                ((MethodSignature) pjp.getSignature()).getMethod(), ResponseStatus.class);
+        if (annotated != null) {
+            return annotated.code().value();
+        }
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs instanceof ServletRequestAttributes servlet) {
+            HttpServletResponse response = servlet.getResponse();
+            if (response != null) {
+                return response.getStatus();
+            }
+        }
+        return 200;
+    }
+
+    /**
+     * 與 Spring MVC 的解析相同：ResponseStatusException 等 ErrorResponse 用它帶的狀態碼，
+     * 例外類別（或 cause 的類別）標了 @ResponseStatus 的用標註的狀態碼，其餘是 500。
+     */
+    private static int statusOf(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ErrorResponse error) {
+                return error.getStatusCode().value();
+            }
+            ResponseStatus annotated = AnnotatedElementUtils.findMergedAnnotation(t.getClass(), ResponseStatus.class);
+            if (annotated != null) {
+                return annotated.code().value();
+            }
+        }
+        return 500;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        return attrs instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.metrics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 虛擬執行緒模式下監看 carrier thread 被 pin 住的情況（JFR 的 jdk.VirtualThreadPinned 事件）。
+ * 虛擬執行緒在 synchronized 區塊或 native frame 裡阻塞（例如等 JDBC 回應）時，會佔住底下的平台執行緒，
+ * 等於又退回原本的執行緒數上限；出現時記 log（含呼叫堆疊）並計入 portfolio_virtual_thread_pinned_total。
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    /** 低於這個時間的 pin 不影響吞吐量，不記錄 */
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+
+    private final LongAdder pinned = new LongAdder();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MetricsRegistry metrics) {
+        metrics.registerGauge("portfolio_virtual_thread_pinned_total",
+                "Virtual threads that blocked while pinned to their carrier for more than 20ms", pinned::sum);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream rs = new RecordingStream();
+        rs.enable(EVENT).withThreshold(THRESHOLD).withStackTrace();
+        rs.onEvent(EVENT, this::onPinned);
+        rs.startAsync();
+        stream = rs;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream rs = stream;
+        stream = null;
+        if (rs != null) {
+            rs.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        log.warn("Virtual thread pinned for {} ms at:\n{}", event.getDuration().toMillis(),
+                frames.stream()
+                        .limit(15)
+                        .map(f -> "\tat " + f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                                + ":" + f.getLineNumber())
+                        .collect(Collectors.joining("\n")));
+    }
+}
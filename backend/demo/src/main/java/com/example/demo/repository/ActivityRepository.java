@@ -1,10 +1,41 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Activity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
     // 如果以後要加自訂查詢，都可以在這裡定義
+
+    /** 游標分頁：從 afterId 之後依主鍵索引往後取，不用 OFFSET */
+    List<Activity> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * 全文搜尋（僅 PostgreSQL 搜尋模式）：search_vector 與 GIN 索引由 search/postgres-search.sql 建立。
+     * 分數是 ts_rank 加上標題的 trigram 相似度，trigram 也負責中文與打錯字的模糊比對。
+     * description 是 oid（large object），不在 search_vector 裡，摘要也只能取標題。
+     */
+    @Query(value = """
+            SELECT t.id AS id, t.title AS title,
+                   ts_rank(t.search_vector, q) + similarity(t.title, :q) AS score,
+                   ts_headline('simple', t.title, q,
+                               'MaxFragments=1, MaxWords=20, MinWords=5, StartSel=<mark>, StopSel=</mark>') AS snippet
+            FROM activities t, websearch_to_tsquery('simple', :q) q
+            WHERE t.search_vector @@ q OR t.title % :q OR t.title ILIKE '%' || :q || '%'
+            ORDER BY score DESC, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchRow> searchFullText(@Param("q") String q, @Param("limit") int limit);
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT */
+    @Modifying
+    @Query("delete from Activity e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
 }
@@ -1,8 +1,38 @@
 // src/main/java/com/example/demo/repository/AwardRepository.java
 package com.example.demo.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.demo.entity.Award;
 
-public interface AwardRepository extends JpaRepository<Award, Long> {}
+import java.util.List;
 
+public interface AwardRepository extends JpaRepository<Award, Long> {
+
+    /** 游標分頁：從 afterId 之後依主鍵索引往後取，不用 OFFSET */
+    List<Award> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * 全文搜尋（僅 PostgreSQL 搜尋模式）：search_vector 與 GIN 索引由 search/postgres-search.sql 建立。
+     * 分數是 ts_rank 加上名稱的 trigram 相似度，trigram 也負責中文與打錯字的模糊比對。
+     */
+    @Query(value = """
+            SELECT t.id AS id, t.name AS title,
+                   ts_rank(t.search_vector, q) + similarity(t.name, :q) AS score,
+                   ts_headline('simple', coalesce(t.description, ''), q,
+                               'MaxFragments=1, MaxWords=20, MinWords=5, StartSel=<mark>, StopSel=</mark>') AS snippet
+            FROM awards t, websearch_to_tsquery('simple', :q) q
+            WHERE t.search_vector @@ q OR t.name % :q OR t.name ILIKE '%' || :q || '%'
+            ORDER BY score DESC, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchRow> searchFullText(@Param("q") String q, @Param("limit") int limit);
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT */
+    @Modifying
+    @Query("delete from Award e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
+}
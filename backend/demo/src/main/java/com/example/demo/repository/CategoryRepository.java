@@ -1,10 +1,29 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Category;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     // JpaRepository 已內建 findAll、save、deleteById…
+
+    /** 分類連同底下的技能一次 join 取回，不會每個分類再查一次 skill */
+    @EntityGraph(attributePaths = "skills")
+    List<Category> findAllWithSkillsBy();
+
+    @EntityGraph(attributePaths = "skills")
+    Optional<Category> findWithSkillsById(Long id);
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT */
+    @Modifying
+    @Query("delete from Category e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
 }
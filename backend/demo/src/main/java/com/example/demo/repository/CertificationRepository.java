@@ -1,8 +1,22 @@
 // src/main/java/com/example/demo/repository/CertificationRepository.java
 package com.example.demo.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
 import com.example.demo.entity.Certification;
 
-public interface CertificationRepository extends JpaRepository<Certification, Long> {}
+import java.util.List;
 
+public interface CertificationRepository extends JpaRepository<Certification, Long> {
+
+    /** 游標分頁：從 afterId 之後依主鍵索引往後取，不用 OFFSET */
+    List<Certification> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT */
+    @Modifying
+    @Query("delete from Certification e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
+}
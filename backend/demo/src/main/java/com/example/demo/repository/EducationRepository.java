@@ -3,9 +3,17 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.Education;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EducationRepository extends JpaRepository<Education, Long> {
     // JpaRepository 已經提供基本 CRUD，若需自訂查詢再新增方法即可
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT */
+    @Modifying
+    @Query("delete from Education e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
 }
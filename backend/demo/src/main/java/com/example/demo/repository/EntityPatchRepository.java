@@ -0,0 +1,162 @@
+package com.example.demo.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 不先讀出 entity 的更新：JSON Merge Patch（RFC 7396）或整筆取代都組成一條 UPDATE ... WHERE id = ?，回傳更新筆數（0 表示不存在）。
+ * 可更新的是一般欄位與多對一關聯（JSON 裡寫成 categoryId 這種 &lt;屬性&gt;Id），集合另外處理。
+ * 必須在交易裡呼叫。
+ */
+@Repository
+public class EntityPatchRepository {
+
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, Map<String, SingularAttribute<?, ?>>> patchable = new ConcurrentHashMap<>();
+
+    public EntityPatchRepository(EntityManager em, ObjectMapper mapper) {
+        this.em = em;
+        this.mapper = mapper;
+    }
+
+    /** 只更新 patch 裡有的欄位，值為 null 的欄位設成 NULL；patch 是空物件時只確認這筆存不存在 */
+    public int mergePatch(Class<?> type, Long id, ObjectNode patch) {
+        Map<String, SingularAttribute<?, ?>> attributes = patchableAttributes(type);
+        Map<SingularAttribute<?, ?>, Object> values = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (field.getKey().equals("id") && field.getValue().asLong() == id) {
+                continue;
+            }
+            SingularAttribute<?, ?> attribute = attributes.get(field.getKey());
+            if (attribute == null) {
+                throw new InvalidPatchException("Field '" + field.getKey() + "' cannot be patched, allowed: "
+                        + attributes.keySet());
+            }
+            values.put(attribute, toValue(attribute, field.getKey(), field.getValue()));
+        }
+        if (values.isEmpty()) {
+            return exists(type, id) ? 1 : 0;
+        }
+        return update(type, id, values);
+    }
+
+    /** 用 values 的欄位整筆取代（PUT），id 與集合不會被動到 */
+    public <T> int replace(Class<T> type, Long id, T values) {
+        Map<SingularAttribute<?, ?>, Object> columns = new LinkedHashMap<>();
+        for (SingularAttribute<?, ?> attribute : patchableAttributes(type).values()) {
+            Field field = (Field) attribute.getJavaMember();
+            ReflectionUtils.makeAccessible(field);
+            columns.put(attribute, ReflectionUtils.getField(field, values));
+        }
+        return update(type, id, columns);
+    }
+
+    /** 可以 patch 的欄位：JSON 名稱 → 屬性（多對一關聯的名稱是 &lt;屬性&gt;Id） */
+    public Map<String, SingularAttribute<?, ?>> patchableAttributes(Class<?> type) {
+        return patchable.computeIfAbsent(type, t -> {
+            Map<String, SingularAttribute<?, ?>> names = new LinkedHashMap<>();
+            for (SingularAttribute<?, ?> a : em.getMetamodel().entity(t).getSingularAttributes()) {
+                if (a.isId() || a.isVersion()) {
+                    continue;
+                }
+                switch (a.getPersistentAttributeType()) {
+                    case BASIC -> names.put(a.getName(), a);
+                    case MANY_TO_ONE -> names.put(a.getName() + "Id", a);
+                    default -> { }
+                }
+            }
+            return Map.copyOf(names);
+        });
+    }
+
+    private Object toValue(SingularAttribute<?, ?> attribute, String name, JsonNode node) {
+        if (node.isNull()) {
+            return null;
+        }
+        if (node.isContainerNode()) {
+            throw new InvalidPatchException("Field '" + name + "' must be a scalar value");
+        }
+        try {
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE) {
+                // 只放外鍵，不查關聯的那一筆；不存在時由外鍵限制擋下
+                return em.getReference(attribute.getJavaType(), mapper.treeToValue(node, Long.class));
+            }
+            return mapper.treeToValue(node, attribute.getJavaType());
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            // 解析錯誤的細節只留在 cause（伺服器端日誌），不回給前端
+            throw new InvalidPatchException("Invalid value for '" + name + "'", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> int update(Class<T> type, Long id, Map<SingularAttribute<?, ?>, Object> values) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(type);
+        Root<T> root = update.from(type);
+        values.forEach((attribute, value) -> {
+            Path<Object> path = root.get(attribute.getName());
+            if (value == null) {
+                update.<Object>set(path, (Expression<Object>) cb.nullLiteral(attribute.getJavaType()));
+            } else {
+                update.<Object, Object>set(path, value);
+            }
+        });
+        update.where(cb.equal(root.get(idName(type)), id));
+        try {
+            return em.createQuery(update).executeUpdate();
+        } catch (PersistenceException e) {
+            // NOT NULL、唯一值或外鍵（例如 categoryId 不存在）；訊息含 SQL，不放進回應
+            throw new InvalidPatchException("Update violates a constraint", e);
+        }
+    }
+
+    private boolean exists(Class<?> type, Long id) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(type);
+        query.select(cb.count(root)).where(cb.equal(root.get(idName(type)), id));
+        return em.createQuery(query).getSingleResult() > 0;
+    }
+
+    private String idName(Class<?> type) {
+        EntityType<?> entity = em.getMetamodel().entity(type);
+        return entity.getId(entity.getIdType().getJavaType()).getName();
+    }
+
+    /** patch 的欄位不存在、型別不對或違反資料庫限制，回 400（不繼承 IllegalArgumentException，免得被 @Repository 轉成 DataAccessException） */
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidPatchException extends RuntimeException {
+        public InvalidPatchException(String message) {
+            super(message);
+        }
+
+        public InvalidPatchException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
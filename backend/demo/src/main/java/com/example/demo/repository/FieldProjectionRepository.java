@@ -0,0 +1,92 @@
+// src/main/java/com/example/demo/repository/FieldProjectionRepository.java
+package com.example.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 只 SELECT 指定欄位的查詢（tuple projection），沒被要求的欄位（例如 @Lob）不會從資料庫讀出來。
+ * 欄位名稱以 entity 的屬性名稱為準，只允許一般欄位，集合與關聯不能投影。
+ */
+@Repository
+@Transactional(readOnly = true)
+public class FieldProjectionRepository {
+
+    private final EntityManager em;
+    private final Map<Class<?>, Set<String>> selectable = new ConcurrentHashMap<>();
+
+    public FieldProjectionRepository(EntityManager em) {
+        this.em = em;
+    }
+
+    /** 依 id 排序取回所有列，每列只有 id 與指定欄位 */
+    public List<Map<String, Object>> findAll(Class<?> type, List<String> fields) {
+        EntityType<?> entity = em.getMetamodel().entity(type);
+        String idName = entity.getId(entity.getIdType().getJavaType()).getName();
+
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add(idName);
+        Set<String> allowed = selectableFields(type);
+        for (String field : fields) {
+            if (!allowed.contains(field)) {
+                throw new UnknownFieldException(field, allowed);
+            }
+            columns.add(field);
+        }
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(type);
+        query.multiselect(columns.stream().<Selection<?>>map(c -> root.get(c).alias(c)).toList());
+        query.orderBy(cb.asc(root.get(idName)));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : em.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String c : columns) {
+                row.put(c, tuple.get(c));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /** entity 上可以投影的欄位（一般欄位，不含集合與關聯） */
+    public Set<String> selectableFields(Class<?> type) {
+        return selectable.computeIfAbsent(type, t -> {
+            Set<String> names = new LinkedHashSet<>();
+            for (Attribute<?, ?> a : em.getMetamodel().entity(t).getSingularAttributes()) {
+                if (a.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                    names.add(a.getName());
+                }
+            }
+            return Set.copyOf(names);
+        });
+    }
+
+    /** ?fields= 裡有不存在或不能投影的欄位，回 400 */
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class UnknownFieldException extends IllegalArgumentException {
+        public UnknownFieldException(String field, Set<String> allowed) {
+            super("Unknown field '" + field + "', allowed: " + allowed);
+        }
+    }
+}
@@ -2,9 +2,51 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Project;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    /** 專案連同 project_technologies 一次 join 取回，不會每個專案再查一次 */
+    @EntityGraph(attributePaths = "technologies")
+    List<Project> findAllWithTechnologiesBy();
+
+    @EntityGraph(attributePaths = "technologies")
+    Optional<Project> findWithTechnologiesById(Long id);
+
+    /**
+     * 游標分頁：從 afterId 之後依主鍵索引往後取，不用 OFFSET。
+     * technologies 不 join（join 集合再 limit 會變成在記憶體裡分頁），改由 @BatchSize 一次補載。
+     */
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * 全文搜尋（僅 PostgreSQL 搜尋模式）：search_vector 與 GIN 索引由 search/postgres-search.sql 建立。
+     * 分數是 ts_rank 加上名稱的 trigram 相似度，trigram 也負責中文與打錯字的模糊比對。
+     */
+    @Query(value = """
+            SELECT t.id AS id, t.name AS title,
+                   ts_rank(t.search_vector, q) + similarity(t.name, :q) AS score,
+                   ts_headline('simple', coalesce(t.description, ''), q,
+                               'MaxFragments=1, MaxWords=20, MinWords=5, StartSel=<mark>, StopSel=</mark>') AS snippet
+            FROM projects t, websearch_to_tsquery('simple', :q) q
+            WHERE t.search_vector @@ q OR t.name % :q OR t.name ILIKE '%' || :q || '%'
+            ORDER BY score DESC, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchRow> searchFullText(@Param("q") String q, @Param("limit") int limit);
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT；project_technologies 由 Hibernate 先刪（多一條語句） */
+    @Modifying
+    @Query("delete from Project e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
 }
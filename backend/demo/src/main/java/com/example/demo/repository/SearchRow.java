@@ -0,0 +1,9 @@
+package com.example.demo.repository;
+
+/** 全文搜尋原生查詢的結果列（PostgreSQL 搜尋模式使用） */
+public interface SearchRow {
+    Long getId();
+    String getTitle();
+    Double getScore();
+    String getSnippet();
+}
@@ -1,10 +1,44 @@
 package com.example.demo.repository;
 
+import com.example.demo.entity.Category;
 import com.example.demo.entity.Skill;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
     // 已經有 findAll, save, deleteById
+
+    /** 技能連同所屬分類一次 join 取回（category 是 EAGER，用 findAll 會每個分類再查一次） */
+    @EntityGraph(attributePaths = "category")
+    List<Skill> findAllWithCategoryBy();
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT */
+    @Modifying
+    @Query("delete from Skill e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    /**
+     * 整筆更新技能；分類不存在時條件不成立，一筆都不更新（回傳 0），不必先查分類。
+     * category 傳 getReferenceById 取得的代理即可，不會查詢
+     */
+    @Modifying
+    @Query("update Skill s set s.name = :name, s.description = :description, s.category = :category "
+            + "where s.id = :id and exists (select c.id from Category c where c.id = :categoryId)")
+    int replaceRow(@Param("id") Long id,
+                   @Param("name") String name,
+                   @Param("description") String description,
+                   @Param("category") Category category,
+                   @Param("categoryId") Long categoryId);
+
+    /** 刪除分類底下所有技能（取代分類的 cascade，不必先把技能讀出來） */
+    @Modifying
+    @Query("delete from Skill s where s.category.id = :categoryId")
+    int deleteAllInCategory(@Param("categoryId") Long categoryId);
 }
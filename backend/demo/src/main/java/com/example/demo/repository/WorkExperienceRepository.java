@@ -1,7 +1,33 @@
 package com.example.demo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import com.example.demo.entity.WorkExperience;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface WorkExperienceRepository extends JpaRepository<WorkExperience, Long> {
-}
\ No newline at end of file
+
+    /**
+     * 全文搜尋（僅 PostgreSQL 搜尋模式）：search_vector 與 GIN 索引由 search/postgres-search.sql 建立。
+     * 分數是 ts_rank 加上公司名稱的 trigram 相似度，trigram 也負責中文與打錯字的模糊比對。
+     */
+    @Query(value = """
+            SELECT t.id AS id, t.company || ' - ' || t.position AS title,
+                   ts_rank(t.search_vector, q) + similarity(t.company, :q) AS score,
+                   ts_headline('simple', coalesce(t.description, ''), q,
+                               'MaxFragments=1, MaxWords=20, MinWords=5, StartSel=<mark>, StopSel=</mark>') AS snippet
+            FROM work_experiences t, websearch_to_tsquery('simple', :q) q
+            WHERE t.search_vector @@ q OR t.company % :q OR t.company ILIKE '%' || :q || '%'
+            ORDER BY score DESC, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchRow> searchFullText(@Param("q") String q, @Param("limit") int limit);
+
+    /** 一條 DELETE 刪除並回傳筆數，不先 SELECT */
+    @Modifying
+    @Query("delete from WorkExperience e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
+}
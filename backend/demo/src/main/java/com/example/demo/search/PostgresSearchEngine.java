@@ -0,0 +1,74 @@
+package com.example.demo.search;
+
+import com.example.demo.event.Section;
+import com.example.demo.repository.ActivityRepository;
+import com.example.demo.repository.AwardRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.SearchRow;
+import com.example.demo.repository.WorkExperienceRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 資料量大時改由 PostgreSQL 搜尋：tsvector 產生欄位 + GIN 索引做全文比對，pg_trgm 做模糊比對。
+ * 涵蓋專案、工作經歷、活動與獎項；每個資料表各查前 limit 筆再合併排序。
+ */
+@Component
+@ConditionalOnProperty(name = "portfolio.search.engine", havingValue = "postgres")
+public class PostgresSearchEngine implements SearchEngine, SmartInitializingSingleton {
+
+    private record Source(Section section, BiFunction<String, Integer, List<SearchRow>> query) {}
+
+    private final DataSource dataSource;
+    private final List<Source> sources;
+
+    public PostgresSearchEngine(DataSource dataSource,
+                                ProjectRepository projectRepo,
+                                WorkExperienceRepository experienceRepo,
+                                ActivityRepository activityRepo,
+                                AwardRepository awardRepo) {
+        this.dataSource = dataSource;
+        this.sources = List.of(
+            new Source(Section.PROJECTS, projectRepo::searchFullText),
+            new Source(Section.EXPERIENCES, experienceRepo::searchFullText),
+            new Source(Section.ACTIVITIES, activityRepo::searchFullText),
+            new Source(Section.AWARDS, awardRepo::searchFullText)
+        );
+    }
+
+    /** Hibernate 建好資料表之後，補上 search_vector 欄位、GIN 索引與 pg_trgm */
+    @Override
+    public void afterSingletonsInstantiated() {
+        new ResourceDatabasePopulator(new ClassPathResource("search/postgres-search.sql")).execute(dataSource);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchHit> search(String query, int limit) {
+        String q = query == null ? "" : query.strip();
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<SearchHit> hits = new ArrayList<>();
+        for (Source source : sources) {
+            for (SearchRow row : source.query().apply(q, limit)) {
+                hits.add(new SearchHit(source.section().getKey(), row.getId(), row.getTitle(),
+                        row.getScore() == null ? 0 : row.getScore(), row.getSnippet()));
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.comparingDouble(SearchHit::score).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
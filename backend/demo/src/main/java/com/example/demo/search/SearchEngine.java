@@ -0,0 +1,13 @@
+package com.example.demo.search;
+
+import java.util.List;
+
+/**
+ * 搜尋實作，由 portfolio.search.engine 選擇：
+ * memory（預設）用 {@link SearchIndex}；postgres 用 {@link PostgresSearchEngine}。
+ */
+public interface SearchEngine {
+
+    /** 依相關度排序，最多回傳 limit 筆 */
+    List<SearchHit> search(String query, int limit);
+}
@@ -0,0 +1,7 @@
+package com.example.demo.search;
+
+/**
+ * 一筆搜尋結果：type 是區塊名稱（projects、experiences…），前端可用 type + id 連到原資料。
+ * snippet 是標出關鍵字的摘要，只有 PostgreSQL 搜尋模式會提供。
+ */
+public record SearchHit(String type, Long id, String title, double score, String snippet) {}
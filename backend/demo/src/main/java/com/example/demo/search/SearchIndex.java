@@ -0,0 +1,269 @@
+package com.example.demo.search;
+
+import com.example.demo.cache.ReadModel;
+import com.example.demo.entity.Activity;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.Skill;
+import com.example.demo.entity.WorkExperience;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 專案、工作經歷、技能、活動的記憶體反向索引，以 BM25 排序。
+ * 資料來源是 {@link ReadModel}，寫入 commit 後只重建變動的那一筆文件。
+ */
+@Component
+@ConditionalOnProperty(name = "portfolio.search.engine", havingValue = "memory", matchIfMissing = true)
+public class SearchIndex implements SearchEngine {
+
+    /** 可搜尋的區塊 */
+    static final Set<Section> SECTIONS = Set.of(Section.PROJECTS, Section.EXPERIENCES, Section.SKILLS, Section.ACTIVITIES);
+
+    // BM25 參數（一般預設值）
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private record DocKey(Section section, long id) {}
+
+    private record Doc(DocKey key, String title, Map<String, Integer> termFreqs, int length) {}
+
+    private record Field(String text, int weight) {}
+
+    private final ReadModel readModel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 以下都由 lock 保護
+    private final Map<DocKey, Doc> docs = new HashMap<>();
+    private final TreeMap<String, Map<DocKey, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+
+    public SearchIndex(ReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    /** ReadModel 在所有 singleton 建好後才載入，所以等 context refresh 完成再建索引 */
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuildAll() {
+        SECTIONS.forEach(this::reindex);
+    }
+
+    /** 排在 ReadModel 之後，才讀得到 commit 後的資料 */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        for (Section section : event.section().affected()) {
+            if (!SECTIONS.contains(section)) {
+                continue;
+            }
+            if (section != event.section() || event.id() == null) {
+                reindex(section);
+            } else if (event.op() == SectionChangedEvent.Op.DELETE) {
+                remove(new DocKey(section, event.id()));
+            } else {
+                reindex(section, event.id());
+            }
+        }
+    }
+
+    /**
+     * 查詢：關鍵字之間是 OR，符合越多、越稀有的詞分數越高。
+     * 最後一個英文詞也會當成前綴比對，方便邊打邊搜。
+     */
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int n = docs.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / n;
+            Map<DocKey, Double> scores = new HashMap<>();
+            for (int t = 0; t < terms.size(); t++) {
+                String term = terms.get(t);
+                boolean prefix = t == terms.size() - 1 && term.length() >= 2 && !Tokenizer.isCjk(term.codePointAt(0));
+                Collection<Map<DocKey, Integer>> matched = prefix
+                        ? postings.subMap(term, true, term + Character.MAX_VALUE, false).values()
+                        : single(postings.get(term));
+                for (Map<DocKey, Integer> posting : matched) {
+                    double idf = Math.log(1 + (n - posting.size() + 0.5) / (posting.size() + 0.5));
+                    posting.forEach((key, tf) -> {
+                        int length = docs.get(key).length();
+                        double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+                        scores.merge(key, score, Double::sum);
+                    });
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<DocKey, Double>comparingByValue().reversed()
+                            .thenComparing(e -> e.getKey().section())
+                            .thenComparingLong(e -> e.getKey().id()))
+                    .limit(limit)
+                    .map(e -> {
+                        Doc doc = docs.get(e.getKey());
+                        return new SearchHit(e.getKey().section().getKey(), e.getKey().id(), doc.title(), e.getValue(), null);
+                    })
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 目前索引的文件數 */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static <V> Collection<V> single(V value) {
+        return value == null ? List.of() : List.of(value);
+    }
+
+    // ===== 建索引 =====
+
+    /**
+     * ReadModel 要在寫入鎖裡面讀：兩個交易接連 commit 時，鎖外先讀到的舊快照可能比新的晚套用；
+     * 在鎖裡讀，最後一個套用的一定讀到最新的資料。
+     */
+    private void reindex(Section section) {
+        lock.writeLock().lock();
+        try {
+            List<Doc> fresh = new ArrayList<>();
+            switch (section) {
+                case PROJECTS -> readModel.projects().all().forEach(p -> fresh.add(toDoc(p)));
+                case EXPERIENCES -> readModel.experiences().all().forEach(e -> fresh.add(toDoc(e)));
+                case SKILLS -> readModel.skills().all().forEach(s -> fresh.add(toDoc(s)));
+                case ACTIVITIES -> readModel.activities().all().forEach(a -> fresh.add(toDoc(a)));
+                default -> { }
+            }
+            List.copyOf(docs.keySet()).stream()
+                    .filter(key -> key.section() == section)
+                    .forEach(this::removeLocked);
+            fresh.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reindex(Section section, long id) {
+        DocKey key = new DocKey(section, id);
+        lock.writeLock().lock();
+        try {
+            Doc doc = switch (section) {
+                case PROJECTS -> readModel.projects().find(id).map(SearchIndex::toDoc).orElse(null);
+                case EXPERIENCES -> readModel.experiences().find(id).map(SearchIndex::toDoc).orElse(null);
+                case SKILLS -> readModel.skills().find(id).map(SearchIndex::toDoc).orElse(null);
+                case ACTIVITIES -> readModel.activities().find(id).map(SearchIndex::toDoc).orElse(null);
+                default -> null;
+            };
+            removeLocked(key);
+            if (doc != null) {
+                addLocked(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(DocKey key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Doc doc) {
+        docs.put(doc.key(), doc);
+        totalLength += doc.length();
+        doc.termFreqs().forEach((term, tf) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.key(), tf));
+    }
+
+    private void removeLocked(DocKey key) {
+        Doc old = docs.remove(key);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.length();
+        for (String term : old.termFreqs().keySet()) {
+            Map<DocKey, Integer> posting = postings.get(term);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // ===== 各區塊的欄位與權重：名稱類欄位比描述重要 =====
+
+    private static Doc toDoc(Project p) {
+        return doc(Section.PROJECTS, p.getId(), p.getName(),
+                new Field(p.getName(), 3),
+                new Field(p.getTechnologies() == null ? null : String.join(" ", p.getTechnologies()), 2),
+                new Field(p.getDescription(), 1));
+    }
+
+    private static Doc toDoc(WorkExperience e) {
+        return doc(Section.EXPERIENCES, e.getId(), e.getCompany() + " - " + e.getPosition(),
+                new Field(e.getCompany(), 3),
+                new Field(e.getPosition(), 3),
+                new Field(e.getSkills(), 2),
+                new Field(e.getDescription(), 1));
+    }
+
+    private static Doc toDoc(Skill s) {
+        return doc(Section.SKILLS, s.getId(), s.getName(),
+                new Field(s.getName(), 3),
+                new Field(s.getDescription(), 1));
+    }
+
+    private static Doc toDoc(Activity a) {
+        return doc(Section.ACTIVITIES, a.getId(), a.getTitle(),
+                new Field(a.getTitle(), 3),
+                new Field(a.getDescription(), 1));
+    }
+
+    private static Doc doc(Section section, Long id, String title, Field... fields) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (Field field : fields) {
+            for (String token : Tokenizer.tokenize(field.text())) {
+                termFreqs.merge(token, field.weight(), Integer::sum);
+                length += field.weight();
+            }
+            // 只查一個中文字時用；不計入長度，多字查詢的分數不受影響
+            for (String single : Tokenizer.cjkCharacters(field.text())) {
+                termFreqs.merge(single, field.weight(), Integer::sum);
+            }
+        }
+        return new Doc(new DocKey(section, id), title, Map.copyOf(termFreqs), length);
+    }
+}
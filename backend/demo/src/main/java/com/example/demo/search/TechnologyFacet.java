@@ -0,0 +1,4 @@
+package com.example.demo.search;
+
+/** 一個技術標籤與使用它的專案數 */
+public record TechnologyFacet(String technology, int count) {}
@@ -0,0 +1,195 @@
+package com.example.demo.search;
+
+import com.example.demo.cache.ReadModel;
+import com.example.demo.entity.Project;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 專案技術標籤的 facet 索引：每個標籤（不分大小寫，顯示用第一次出現的寫法）對應一個
+ * 以專案 id 為位元位置的 BitSet，使用數隨寫入增量維護，所以查各標籤數量不用掃過專案。
+ * 篩選時多個標籤做 AND / OR 位元運算。
+ */
+@Component
+public class TechnologyFacetIndex {
+
+    private static final class Facet {
+        final String label;
+        final BitSet projects = new BitSet();
+        int count;
+
+        Facet(String label) {
+            this.label = label;
+        }
+    }
+
+    private final ReadModel readModel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 以下都由 lock 保護
+    private final Map<String, Facet> facets = new HashMap<>();
+    private final Map<Long, Set<String>> keysByProject = new HashMap<>();
+    /** 排好序的 facet 清單，寫入後才重算 */
+    private List<TechnologyFacet> sorted;
+
+    public TechnologyFacetIndex(ReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    /** ReadModel 在所有 singleton 建好後才載入，所以等 context refresh 完成再建索引 */
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuildAll() {
+        lock.writeLock().lock();
+        try {
+            facets.clear();
+            keysByProject.clear();
+            readModel.projects().all().forEach(this::putLocked);
+            sorted = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 排在 ReadModel 之後，才讀得到 commit 後的資料。
+     * ReadModel 在寫入鎖裡面讀，接連兩個 commit 時較舊的快照不會蓋掉較新的
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        if (event.section() != Section.PROJECTS) {
+            return;
+        }
+        if (event.id() == null) {
+            rebuildAll();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Project project = event.op() == SectionChangedEvent.Op.DELETE
+                    ? null
+                    : readModel.projects().find(event.id()).orElse(null);
+            removeLocked(event.id());
+            if (project != null) {
+                putLocked(project);
+            }
+            sorted = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 各技術標籤的專案數，依數量由多到少 */
+    public List<TechnologyFacet> facets() {
+        lock.readLock().lock();
+        try {
+            List<TechnologyFacet> current = sorted;
+            if (current != null) {
+                return current;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (sorted == null) {
+                sorted = facets.values().stream()
+                        .map(f -> new TechnologyFacet(f.label, f.count))
+                        .sorted(Comparator.comparingInt(TechnologyFacet::count).reversed()
+                                .thenComparing(f -> f.technology().toLowerCase(Locale.ROOT)))
+                        .toList();
+            }
+            return sorted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 使用指定技術的專案 id（由小到大）。
+     * matchAll 為 true 時必須全部符合（AND），否則任一符合即可（OR）；未知的標籤視為空集合。
+     */
+    public List<Long> projectIds(Collection<String> technologies, boolean matchAll) {
+        BitSet result = null;
+        lock.readLock().lock();
+        try {
+            for (String technology : technologies) {
+                Facet facet = facets.get(key(technology));
+                BitSet bits = facet == null ? new BitSet() : facet.projects;
+                if (result == null) {
+                    result = (BitSet) bits.clone();
+                } else if (matchAll) {
+                    result.and(bits);
+                } else {
+                    result.or(bits);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (result == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(result.cardinality());
+        result.stream().forEach(i -> ids.add((long) i));
+        return ids;
+    }
+
+    private void putLocked(Project project) {
+        if (project.getTechnologies() == null) {
+            return;
+        }
+        int bit = Math.toIntExact(project.getId());
+        Set<String> keys = new HashSet<>();
+        for (String technology : project.getTechnologies()) {
+            if (technology == null || technology.isBlank()) {
+                continue;
+            }
+            String key = key(technology);
+            if (keys.add(key)) {
+                Facet facet = facets.computeIfAbsent(key, k -> new Facet(technology.strip()));
+                facet.projects.set(bit);
+                facet.count++;
+            }
+        }
+        keysByProject.put(project.getId(), keys);
+    }
+
+    private void removeLocked(Long projectId) {
+        Set<String> keys = keysByProject.remove(projectId);
+        if (keys == null) {
+            return;
+        }
+        int bit = Math.toIntExact(projectId);
+        for (String key : keys) {
+            Facet facet = facets.get(key);
+            facet.projects.clear(bit);
+            if (--facet.count == 0) {
+                facets.remove(key);
+            }
+        }
+    }
+
+    /** 比對用的 key：去頭尾空白、不分大小寫；同一個標籤在 facets 裡只存一份 */
+    private static String key(String technology) {
+        return technology.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 中英混合文字的斷詞：
+ * 拉丁字母與數字連續的一段視為一個詞（轉小寫，保留 c++、c# 這類尾端符號）；
+ * 中日韓文字沒有空白分隔，改用相鄰兩字的 bigram，單獨一個字時就用單字。
+ * 建索引與查詢使用同一套規則，所以查「前端工程」會拆成「前端、端工、工程」去比對。
+ * 只查一個字時沒有 bigram 可比，索引另外以 {@link #cjkCharacters} 收錄每個單字。
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        // NFKC 會把全形英數字轉成半形
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int i = 0;
+        int n = s.length();
+        while (i < n) {
+            int cp = s.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                while (i < n && isCjk(s.codePointAt(i))) {
+                    i += Character.charCount(s.codePointAt(i));
+                }
+                addBigrams(s.substring(start, i), tokens);
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < n && Character.isLetterOrDigit(s.codePointAt(i)) && !isCjk(s.codePointAt(i))) {
+                    i += Character.charCount(s.codePointAt(i));
+                }
+                while (i < n && (s.charAt(i) == '+' || s.charAt(i) == '#')) {
+                    i++;
+                }
+                tokens.add(s.substring(start, i));
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        return tokens;
+    }
+
+    /** 兩字以上的中日韓文字段裡的每一個字（單獨一個字的段 tokenize 已經收錄） */
+    public static List<String> cjkCharacters(String text) {
+        List<String> chars = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return chars;
+        }
+        int[] cps = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).codePoints().toArray();
+        for (int k = 0; k < cps.length; k++) {
+            boolean inRun = (k > 0 && isCjk(cps[k - 1])) || (k + 1 < cps.length && isCjk(cps[k + 1]));
+            if (isCjk(cps[k]) && inRun) {
+                chars.add(new String(cps, k, 1));
+            }
+        }
+        return chars;
+    }
+
+    /** 是否為不以空白分詞的文字（漢字、平假名、片假名、韓文） */
+    static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void addBigrams(String run, List<String> tokens) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int k = 0; k + 1 < cps.length; k++) {
+            tokens.add(new String(cps, k, 2));
+        }
+    }
+}
@@ -1,50 +1,97 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.Activity;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.EntityPatchRepository;
+import com.example.demo.repository.FieldProjectionRepository;
 import com.example.demo.repository.ActivityRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class ActivityService {
     @Autowired
     private ActivityRepository repo;
+    @Autowired
+    private ApplicationEventPublisher events;
+    @Autowired
+    private ReadModel readModel;
+    @Autowired
+    private FieldProjectionRepository projections;
+    @Autowired
+    private EntityPatchRepository patches;
 
     public List<Activity> findAll() {
-        return repo.findAll();
+        return readModel.activities().all();
+    }
+
+    /** 游標分頁：取 id 大於 afterId 的前 count 筆（依 id 排序） */
+    @Transactional(readOnly = true)
+    public List<Activity> findAfter(long afterId, int count) {
+        return repo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(count));
+    }
+
+    /** 列表卡片用的精簡欄位 */
+    public static final List<String> SUMMARY_FIELDS = List.of("title", "date", "imageUrl");
+
+    /** 只取指定欄位，SQL 只會 SELECT 這些欄位 */
+    public List<Map<String, Object>> listFields(List<String> fields) {
+        return projections.findAll(Activity.class, fields);
+    }
+
+    public List<Map<String, Object>> listSummaries() {
+        return listFields(SUMMARY_FIELDS);
     }
 
     // 回傳 Optional，失敗時 empty
     public Optional<Activity> findById(Long id) {
-        return repo.findById(id);
+        return readModel.activities().find(id);
     }
 
+    @Transactional
     public Activity create(Activity activity) {
-        return repo.save(activity);
-    }
-
-    public Activity update(Long id, Activity updated) {
-        // 直接 orElse(null)，也可以 orElseThrow
-        Activity act = repo.findById(id).orElse(null);
-        if (act != null) {
-            act.setTitle(updated.getTitle());
-            act.setDescription(updated.getDescription());
-            act.setDate(updated.getDate());
-            act.setImageUrl(updated.getImageUrl());
-            return repo.save(act);
+        Activity saved = repo.save(activity);
+        events.publishEvent(SectionChangedEvent.created(Section.ACTIVITIES, saved.getId()));
+        return saved;
+    }
+
+    /** 整筆更新（一條 UPDATE，不先讀出來）；回傳這筆是否存在，更新後的內容在 commit 後由 findById 取得 */
+    @Transactional
+    public boolean update(Long id, Activity updated) {
+        if (patches.replace(Activity.class, id, updated) == 0) {
+            return false;
         }
-        return null;
+        events.publishEvent(SectionChangedEvent.updated(Section.ACTIVITIES, id));
+        return true;
     }
 
+    /** JSON Merge Patch：只改有給的欄位，一條 UPDATE；回傳這筆是否存在 */
+    @Transactional
+    public boolean patch(Long id, ObjectNode patch) {
+        if (patches.mergePatch(Activity.class, id, patch) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.ACTIVITIES, id));
+        return true;
+    }
+
+    /** 一條 DELETE，回傳是否真的有刪到 */
+    @Transactional
     public boolean delete(Long id) {
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
-            return true;
+        if (repo.deleteRowById(id) == 0) {
+            return false;
         }
-        return false;
+        events.publishEvent(SectionChangedEvent.deleted(Section.ACTIVITIES, id));
+        return true;
     }
 }
-
@@ -2,43 +2,98 @@
 package com.example.demo.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.Award;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.EntityPatchRepository;
+import com.example.demo.repository.FieldProjectionRepository;
 import com.example.demo.repository.AwardRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @Service
 @Transactional
 public class AwardService {
     private final AwardRepository repo;
+    private final ApplicationEventPublisher events;
+    private final ReadModel readModel;
+    private final FieldProjectionRepository projections;
+    private final EntityPatchRepository patches;
 
-    public AwardService(AwardRepository repo) {
+    public AwardService(AwardRepository repo, ApplicationEventPublisher events, ReadModel readModel,
+            FieldProjectionRepository projections, EntityPatchRepository patches) {
         this.repo = repo;
+        this.events = events;
+        this.readModel = readModel;
+        this.projections = projections;
+        this.patches = patches;
     }
 
     public List<Award> getAll() {
-        return repo.findAll();
+        return readModel.awards().all();
+    }
+
+    /** 游標分頁：取 id 大於 afterId 的前 count 筆（依 id 排序） */
+    @Transactional(readOnly = true)
+    public List<Award> findAfter(long afterId, int count) {
+        return repo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(count));
+    }
+
+    /** 列表卡片用的精簡欄位 */
+    public static final List<String> SUMMARY_FIELDS = List.of("name", "date", "imageUrl");
+
+    /** 只取指定欄位，SQL 只會 SELECT 這些欄位 */
+    public List<Map<String, Object>> listFields(List<String> fields) {
+        return projections.findAll(Award.class, fields);
+    }
+
+    public List<Map<String, Object>> listSummaries() {
+        return listFields(SUMMARY_FIELDS);
     }
 
     public Award getById(Long id) {
-        return repo.findById(id)
+        return readModel.awards().find(id)
                    .orElseThrow(() -> new RuntimeException("Award not found"));
     }
 
     public Award create(Award award) {
-        return repo.save(award);
+        Award saved = repo.save(award);
+        events.publishEvent(SectionChangedEvent.created(Section.AWARDS, saved.getId()));
+        return saved;
+    }
+
+    /** 整筆更新（一條 UPDATE，不先讀出來），更新後的內容在 commit 後由 getById 取得 */
+    public void update(Long id, Award data) {
+        if (patches.replace(Award.class, id, data) == 0) {
+            throw new RuntimeException("Award not found");
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.AWARDS, id));
+    }
+
+    /** JSON Merge Patch：只改有給的欄位，一條 UPDATE；回傳這筆是否存在 */
+    public boolean patch(Long id, ObjectNode patch) {
+        if (patches.mergePatch(Award.class, id, patch) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.AWARDS, id));
+        return true;
     }
 
-    public Award update(Long id, Award data) {
-        Award award = getById(id);
-        award.setName(data.getName());
-        award.setDescription(data.getDescription());
-        award.setDate(data.getDate());
-        award.setImageUrl(data.getImageUrl());
-        return repo.save(award);
+    /** 讀取模型裡的這筆，沒有就是空 Optional */
+    public Optional<Award> findById(Long id) {
+        return readModel.awards().find(id);
     }
 
+    /** 一條 DELETE，沒有這筆就什麼都不做 */
     public void delete(Long id) {
-        repo.deleteById(id);
+        if (repo.deleteRowById(id) > 0) {
+            events.publishEvent(SectionChangedEvent.deleted(Section.AWARDS, id));
+        }
     }
 }
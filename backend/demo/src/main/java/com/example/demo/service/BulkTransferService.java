@@ -0,0 +1,347 @@
+// src/main/java/com/example/demo/service/BulkTransferService.java
+package com.example.demo.service;
+
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 全站資料的 NDJSON 匯出 / 匯入，用來在環境之間搬資料或重灌種子資料。
+ * 每行一筆：{"type":"projects","data":{...}}，data 的欄位名稱與 REST API 的 JSON 相同。
+ *
+ * 兩個方向都直接走 JDBC：匯出用 fetch size 串流，不會把整張表讀進記憶體；
+ * 匯入保留原本的 id，用 JDBC batch insert（IDENTITY 讓 Hibernate 無法批次寫入），
+ * 每累積 batchSize 筆就寫出一批（replace 時整個匯入共用一個交易）。
+ */
+@Service
+public class BulkTransferService {
+
+    private enum Kind { LONG, STRING, DATE }
+
+    private record Column(String field, String column, Kind kind) {}
+
+    private record Table(String type, String table, List<Column> columns, boolean singleton) {
+        String insertSql() {
+            return "INSERT INTO " + table + " ("
+                    + columns.stream().map(Column::column).collect(Collectors.joining(", "))
+                    + ") VALUES (" + columns.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")";
+        }
+
+        String selectSql() {
+            return "SELECT " + columns.stream().map(Column::column).collect(Collectors.joining(", "))
+                    + " FROM " + table + " ORDER BY id";
+        }
+    }
+
+    private static Column id() { return new Column("id", "id", Kind.LONG); }
+    private static Column str(String field, String column) { return new Column(field, column, Kind.STRING); }
+
+    /** 依外鍵相依順序排列：分類在技能之前 */
+    private static final List<Table> TABLES = List.of(
+        new Table("introduction", "introductions",
+            List.of(id(), str("content", "content"), new Column("lastUpdated", "last_updated", Kind.DATE)), true),
+        new Table("categories", "category", List.of(id(), str("name", "name")), false),
+        new Table("skills", "skill",
+            List.of(id(), str("name", "name"), str("description", "description"),
+                    new Column("categoryId", "category_id", Kind.LONG)), false),
+        new Table("projects", "projects",
+            List.of(id(), str("name", "name"), str("description", "description"), str("imageUrl", "image_url"),
+                    str("year", "year"), str("projectUrl", "project_url")), false),
+        new Table("educations", "educations",
+            List.of(id(), str("school", "school"), str("degree", "degree"), str("level", "level"),
+                    str("startDate", "start_date"), str("endDate", "end_date"), str("city", "city"),
+                    str("district", "district"), str("gpa", "gpa")), false),
+        new Table("experiences", "work_experiences",
+            List.of(id(), str("company", "company"), str("position", "position"), str("logoUrl", "logo_url"),
+                    str("startDate", "start_date"), str("endDate", "end_date"), str("location", "location"),
+                    str("description", "description"), str("skills", "skills")), false),
+        new Table("awards", "awards",
+            List.of(id(), str("name", "name"), str("description", "description"), str("date", "date"),
+                    str("imageUrl", "image_url")), false),
+        new Table("certifications", "certifications",
+            List.of(id(), str("name", "name"), str("description", "description"), str("date", "date"),
+                    str("imageUrl", "image_url")), false),
+        new Table("activities", "activities",
+            List.of(id(), str("title", "title"), str("description", "description"), str("date", "date"),
+                    str("imageUrl", "image_url")), false)
+    );
+
+    private static final String TECHNOLOGIES_SQL =
+            "SELECT project_id, technology FROM project_technologies ORDER BY project_id";
+    private static final String INSERT_TECHNOLOGY_SQL =
+            "INSERT INTO project_technologies (project_id, technology) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper mapper;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+
+    public BulkTransferService(DataSource dataSource,
+                               PlatformTransactionManager txManager,
+                               ObjectMapper mapper,
+                               ApplicationEventPublisher events,
+                               @Value("${portfolio.bulk.batch-size:5000}") int batchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(1000);
+        this.tx = new TransactionTemplate(txManager);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.mapper = mapper;
+        this.events = events;
+        this.batchSize = batchSize;
+    }
+
+    // ===== 匯出 =====
+
+    /** 依 TABLES 的順序逐表串流寫出；PostgreSQL 需要在交易內 fetch size 才會生效 */
+    public void exportTo(OutputStream out) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+                // 行與行之間只用換行分隔，不要 Jackson 預設的空白
+                gen.setRootValueSeparator(null);
+                for (Table table : TABLES) {
+                    if (table.type().equals("projects")) {
+                        exportProjects(gen, table);
+                    } else {
+                        jdbc.query(table.selectSql(), rs -> {
+                            writeLine(gen, table, rs, null);
+                        });
+                    }
+                }
+                gen.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * 專案的 technologies 在另一張表；兩邊都依 project_id 排序，用兩個游標同步往前走（merge join），
+     * 不需要把任何一邊整個讀進記憶體。
+     */
+    private void exportProjects(JsonGenerator gen, Table table) {
+        jdbc.execute((Connection con) -> {
+            try (var projects = con.prepareStatement(table.selectSql());
+                 var techs = con.prepareStatement(TECHNOLOGIES_SQL)) {
+                projects.setFetchSize(1000);
+                techs.setFetchSize(1000);
+                try (ResultSet p = projects.executeQuery(); ResultSet t = techs.executeQuery()) {
+                    boolean hasTech = t.next();
+                    while (p.next()) {
+                        long id = p.getLong("id");
+                        List<String> technologies = new ArrayList<>();
+                        while (hasTech && t.getLong(1) < id) {
+                            hasTech = t.next();
+                        }
+                        while (hasTech && t.getLong(1) == id) {
+                            technologies.add(t.getString(2));
+                            hasTech = t.next();
+                        }
+                        writeLine(gen, table, p, technologies);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void writeLine(JsonGenerator gen, Table table, ResultSet rs, List<String> technologies)
+            throws SQLException {
+        try {
+            gen.writeStartObject();
+            gen.writeStringField("type", table.type());
+            gen.writeObjectFieldStart("data");
+            for (Column c : table.columns()) {
+                switch (c.kind()) {
+                    case LONG -> {
+                        long v = rs.getLong(c.column());
+                        if (rs.wasNull()) {
+                            gen.writeNullField(c.field());
+                        } else {
+                            gen.writeNumberField(c.field(), v);
+                        }
+                    }
+                    case DATE -> {
+                        Date d = rs.getDate(c.column());
+                        gen.writeStringField(c.field(), d == null ? null : d.toLocalDate().toString());
+                    }
+                    case STRING -> gen.writeStringField(c.field(), rs.getString(c.column()));
+                }
+            }
+            if (technologies != null) {
+                gen.writeArrayFieldStart("technologies");
+                for (String tech : technologies) {
+                    gen.writeString(tech);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===== 匯入 =====
+
+    /**
+     * 逐行讀入並分表暫存，累積到 batchSize 筆就依相依順序整批寫入（一批一個交易）。
+     * replace=true 會先清空所有資料表，整個匯入在同一個交易裡：中途失敗就全部還原，不會留下空的或只匯入一半的資料庫。
+     * 回傳每種資料匯入的筆數。
+     */
+    public Map<String, Integer> importFrom(InputStream in, boolean replace) throws IOException {
+        try {
+            if (!replace) {
+                return load(in, false);
+            }
+            try {
+                // 裡面 flush 用的 TransactionTemplate 會加入這個外層交易
+                return tx.execute(status -> {
+                    try {
+                        return load(in, true);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } finally {
+            // 失敗時已 commit 的批次也要讓快取看到；id 為 null 代表整區重新載入
+            for (Section section : Section.values()) {
+                events.publishEvent(new SectionChangedEvent(section, null, SectionChangedEvent.Op.UPDATE));
+            }
+        }
+    }
+
+    private Map<String, Integer> load(InputStream in, boolean replace) throws IOException {
+        Map<String, Table> byType = TABLES.stream().collect(Collectors.toMap(Table::type, t -> t));
+        Map<String, List<Object[]>> pending = new LinkedHashMap<>();
+        List<Object[]> pendingTechs = new ArrayList<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        TABLES.forEach(t -> {
+            pending.put(t.type(), new ArrayList<>());
+            counts.put(t.type(), 0);
+        });
+
+        if (replace) {
+            clearAll();
+        }
+
+        int buffered = 0;
+        try (MappingIterator<JsonNode> lines = mapper.readerFor(JsonNode.class).readValues(in)) {
+            while (lines.hasNextValue()) {
+                JsonNode line = lines.nextValue();
+                Table table = byType.get(line.path("type").asText());
+                if (table == null) {
+                    throw new IllegalArgumentException("Unknown type: " + line.path("type").asText());
+                }
+                JsonNode data = line.path("data");
+                pending.get(table.type()).add(toParams(table, data));
+                if (data.has("technologies")) {
+                    long projectId = data.path("id").asLong();
+                    for (JsonNode tech : data.get("technologies")) {
+                        pendingTechs.add(new Object[] {projectId, tech.asText()});
+                    }
+                }
+                counts.merge(table.type(), 1, Integer::sum);
+                if (++buffered >= batchSize) {
+                    flush(pending, pendingTechs);
+                    buffered = 0;
+                }
+            }
+        }
+        flush(pending, pendingTechs);
+        resetIdentities();
+        return counts;
+    }
+
+    private void flush(Map<String, List<Object[]>> pending, List<Object[]> pendingTechs) {
+        tx.executeWithoutResult(status -> {
+            for (Table table : TABLES) {
+                List<Object[]> rows = pending.get(table.type());
+                if (rows.isEmpty()) {
+                    continue;
+                }
+                if (table.singleton()) {
+                    jdbc.batchUpdate("DELETE FROM " + table.table() + " WHERE id = ?",
+                            rows.stream().map(r -> new Object[] {r[0]}).toList());
+                }
+                jdbc.batchUpdate(table.insertSql(), rows);
+                if (table.type().equals("projects")) {
+                    jdbc.batchUpdate(INSERT_TECHNOLOGY_SQL, pendingTechs);
+                    pendingTechs.clear();
+                }
+                rows.clear();
+            }
+        });
+    }
+
+    private void clearAll() {
+        jdbc.update("DELETE FROM project_technologies");
+        for (int i = TABLES.size() - 1; i >= 0; i--) {
+            jdbc.update("DELETE FROM " + TABLES.get(i).table());
+        }
+    }
+
+    private static Object[] toParams(Table table, JsonNode data) {
+        Object[] params = new Object[table.columns().size()];
+        for (int i = 0; i < params.length; i++) {
+            Column c = table.columns().get(i);
+            JsonNode v = data.get(c.field());
+            if (v == null || v.isNull()) {
+                continue;
+            }
+            params[i] = switch (c.kind()) {
+                case LONG -> v.asLong();
+                case STRING -> v.asText();
+                case DATE -> Date.valueOf(LocalDate.parse(v.asText()));
+            };
+        }
+        return params;
+    }
+
+    /** 匯入時指定了 id，要把 PostgreSQL 的 identity 序列推到目前最大值之後，之後新增才不會撞號 */
+    private void resetIdentities() {
+        String product = jdbc.execute((Connection con) -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        for (Table table : TABLES) {
+            if (table.singleton()) {
+                continue;
+            }
+            jdbc.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), "
+                    + "COALESCE((SELECT MAX(id) FROM " + table.table() + "), 0) + 1, false)",
+                    Long.class, table.table());
+        }
+    }
+}
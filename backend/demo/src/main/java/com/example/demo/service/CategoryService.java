@@ -1,44 +1,82 @@
 // src/main/java/com/example/demo/service/CategoryService.java
 package com.example.demo.service;
 
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.Category;
 import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.EntityPatchRepository;
+import com.example.demo.repository.SkillRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;  // ← 注意這裡
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class CategoryService {
 
     private final CategoryRepository repo;
+    private final SkillRepository skillRepo;
+    private final EntityPatchRepository patches;
+    private final ApplicationEventPublisher events;
+    private final ReadModel readModel;
 
-    public CategoryService(CategoryRepository repo) {
+    public CategoryService(CategoryRepository repo, SkillRepository skillRepo, EntityPatchRepository patches,
+                           ApplicationEventPublisher events, ReadModel readModel) {
         this.repo = repo;
+        this.skillRepo = skillRepo;
+        this.patches = patches;
+        this.events = events;
+        this.readModel = readModel;
     }
 
     /** 取得所有分類 */
     public List<Category> listAll() {
-        return repo.findAll();
+        return readModel.categories().all();
     }
 
     /** 新增一個分類 */
+    @Transactional
     public Category create(String name) {
-        Category c = new Category(name);
-        return repo.save(c);
+        Category c = repo.save(new Category(name));
+        events.publishEvent(SectionChangedEvent.created(Section.CATEGORIES, c.getId()));
+        return c;
     }
 
-    /** 更新分類名稱 */
-    public Category update(Long id, String newName) {
-        Category c = repo.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Category not found: " + id));
-        c.setName(newName);
-        return repo.save(c);
+    /** 讀取模型裡的分類（含技能） */
+    public Optional<Category> findById(Long id) {
+        return readModel.categories().find(id);
     }
 
-    /** 刪除某分類 */
-    public void delete(Long id) {
-        repo.deleteById(id);
+    /** 更新分類名稱（一條 UPDATE，不先讀出來） */
+    @Transactional
+    public void update(Long id, String newName) {
+        if (patches.replace(Category.class, id, new Category(newName)) == 0) {
+            throw new EntityNotFoundException("Category not found: " + id);
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.CATEGORIES, id));
     }
-}
 
+    /** JSON Merge Patch：只改有給的欄位，一條 UPDATE；回傳這筆是否存在 */
+    @Transactional
+    public boolean patch(Long id, ObjectNode patch) {
+        if (patches.mergePatch(Category.class, id, patch) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.CATEGORIES, id));
+        return true;
+    }
 
+    /** 刪除某分類：先整批刪掉底下的技能再刪分類，兩條 DELETE，不必先把分類與技能讀出來 */
+    @Transactional
+    public void delete(Long id) {
+        skillRepo.deleteAllInCategory(id);
+        if (repo.deleteRowById(id) > 0) {
+            events.publishEvent(SectionChangedEvent.deleted(Section.CATEGORIES, id));
+        }
+    }
+}
@@ -2,44 +2,98 @@
 package com.example.demo.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.Certification;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.EntityPatchRepository;
+import com.example.demo.repository.FieldProjectionRepository;
 import com.example.demo.repository.CertificationRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @Service
 @Transactional
 public class CertificationService {
     private final CertificationRepository repo;
+    private final ApplicationEventPublisher events;
+    private final ReadModel readModel;
+    private final FieldProjectionRepository projections;
+    private final EntityPatchRepository patches;
 
-    public CertificationService(CertificationRepository repo) {
+    public CertificationService(CertificationRepository repo, ApplicationEventPublisher events, ReadModel readModel,
+            FieldProjectionRepository projections, EntityPatchRepository patches) {
         this.repo = repo;
+        this.events = events;
+        this.readModel = readModel;
+        this.projections = projections;
+        this.patches = patches;
     }
 
     public List<Certification> getAll() {
-        return repo.findAll();
+        return readModel.certifications().all();
+    }
+
+    /** 游標分頁：取 id 大於 afterId 的前 count 筆（依 id 排序） */
+    @Transactional(readOnly = true)
+    public List<Certification> findAfter(long afterId, int count) {
+        return repo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(count));
+    }
+
+    /** 列表卡片用的精簡欄位 */
+    public static final List<String> SUMMARY_FIELDS = List.of("name", "date", "imageUrl");
+
+    /** 只取指定欄位，SQL 只會 SELECT 這些欄位 */
+    public List<Map<String, Object>> listFields(List<String> fields) {
+        return projections.findAll(Certification.class, fields);
+    }
+
+    public List<Map<String, Object>> listSummaries() {
+        return listFields(SUMMARY_FIELDS);
     }
 
     public Certification getById(Long id) {
-        return repo.findById(id)
+        return readModel.certifications().find(id)
                    .orElseThrow(() -> new RuntimeException("Certification not found"));
     }
 
     public Certification create(Certification cert) {
-        return repo.save(cert);
+        Certification saved = repo.save(cert);
+        events.publishEvent(SectionChangedEvent.created(Section.CERTIFICATIONS, saved.getId()));
+        return saved;
+    }
+
+    /** 整筆更新（一條 UPDATE，不先讀出來），更新後的內容在 commit 後由 getById 取得 */
+    public void update(Long id, Certification data) {
+        if (patches.replace(Certification.class, id, data) == 0) {
+            throw new RuntimeException("Certification not found");
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.CERTIFICATIONS, id));
     }
 
-    public Certification update(Long id, Certification data) {
-        Certification cert = getById(id);
-        cert.setName(data.getName());
-        cert.setDescription(data.getDescription());
-        cert.setDate(data.getDate());
-        cert.setImageUrl(data.getImageUrl());
-        return repo.save(cert);
+    /** JSON Merge Patch：只改有給的欄位，一條 UPDATE；回傳這筆是否存在 */
+    public boolean patch(Long id, ObjectNode patch) {
+        if (patches.mergePatch(Certification.class, id, patch) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.CERTIFICATIONS, id));
+        return true;
     }
 
+    /** 讀取模型裡的這筆，沒有就是空 Optional */
+    public Optional<Certification> findById(Long id) {
+        return readModel.certifications().find(id);
+    }
+
+    /** 一條 DELETE，沒有這筆就什麼都不做 */
     public void delete(Long id) {
-        repo.deleteById(id);
+        if (repo.deleteRowById(id) > 0) {
+            events.publishEvent(SectionChangedEvent.deleted(Section.CERTIFICATIONS, id));
+        }
     }
 }
-
@@ -1,49 +1,94 @@
 // src/main/java/com/example/demo/service/EducationService.java
 package com.example.demo.service;
 
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.Education;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.EntityPatchRepository;
+import com.example.demo.repository.FieldProjectionRepository;
 import com.example.demo.repository.EducationRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class EducationService {
     private final EducationRepository repo;
+    private final ApplicationEventPublisher events;
+    private final ReadModel readModel;
+    private final FieldProjectionRepository projections;
+    private final EntityPatchRepository patches;
 
-    public EducationService(EducationRepository repo) {
+    public EducationService(EducationRepository repo, ApplicationEventPublisher events, ReadModel readModel,
+            FieldProjectionRepository projections, EntityPatchRepository patches) {
         this.repo = repo;
+        this.events = events;
+        this.readModel = readModel;
+        this.projections = projections;
+        this.patches = patches;
     }
 
     /** 取得所有學歷 */
     public List<Education> listAll() {
-        return repo.findAll();
+        return readModel.educations().all();
+    }
+
+    /** 列表卡片用的精簡欄位 */
+    public static final List<String> SUMMARY_FIELDS = List.of("school", "degree", "level", "startDate", "endDate");
+
+    /** 只取指定欄位，SQL 只會 SELECT 這些欄位 */
+    public List<Map<String, Object>> listFields(List<String> fields) {
+        return projections.findAll(Education.class, fields);
+    }
+
+    public List<Map<String, Object>> listSummaries() {
+        return listFields(SUMMARY_FIELDS);
     }
 
     /** 新增一筆學歷 */
+    @Transactional
     public Education create(Education edu) {
-        return repo.save(edu);
+        Education saved = repo.save(edu);
+        events.publishEvent(SectionChangedEvent.created(Section.EDUCATIONS, saved.getId()));
+        return saved;
     }
 
-    /** 依 id 更新學歷，若不存在則回傳空 Optional */
-    public Optional<Education> update(Long id, Education eduData) {
-        return repo.findById(id).map(edu -> {
-            edu.setSchool(eduData.getSchool());
-            edu.setDegree(eduData.getDegree());
-            edu.setLevel(eduData.getLevel());
-            edu.setStartDate(eduData.getStartDate());
-            edu.setEndDate(eduData.getEndDate());
-            edu.setCity(eduData.getCity());
-            edu.setDistrict(eduData.getDistrict());
-            edu.setGpa(eduData.getGpa());
-            return repo.save(edu);
-        });
+    /** 依 id 整筆更新學歷（一條 UPDATE，不先讀出來）；回傳這筆是否存在，更新後的內容在 commit 後由 findById 取得 */
+    @Transactional
+    public boolean update(Long id, Education eduData) {
+        if (patches.replace(Education.class, id, eduData) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.EDUCATIONS, id));
+        return true;
     }
 
-    /** 刪除學歷 */
+    /** JSON Merge Patch：只改有給的欄位，一條 UPDATE；回傳這筆是否存在 */
+    @Transactional
+    public boolean patch(Long id, ObjectNode patch) {
+        if (patches.mergePatch(Education.class, id, patch) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.EDUCATIONS, id));
+        return true;
+    }
+
+    /** 讀取模型裡的這筆學歷 */
+    public Optional<Education> findById(Long id) {
+        return readModel.educations().find(id);
+    }
+
+    /** 刪除學歷（一條 DELETE） */
+    @Transactional
     public void delete(Long id) {
-        repo.deleteById(id);
+        if (repo.deleteRowById(id) > 0) {
+            events.publishEvent(SectionChangedEvent.deleted(Section.EDUCATIONS, id));
+        }
     }
 }
-
@@ -1,32 +1,115 @@
 // src/main/java/com/example/demo/service/IntroductionService.java
 package com.example.demo.service;
 
+import com.example.demo.datasource.ReplicaRoutingDataSource;
 import com.example.demo.entity.Introduction;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.EntityPatchRepository;
 import com.example.demo.repository.IntroductionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * 自我介紹只有一筆，放在記憶體裡，寫入 commit 之後才重新載入；首頁讀取不會查資料庫。
+ * 更新交給 {@link IntroductionWriter} 合併寫入，短時間內連續的編輯只會寫一次。
+ */
 @Service
 public class IntroductionService {
     private final IntroductionRepository repo;
+    private final IntroductionWriter writer;
+    private final EntityPatchRepository patches;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate tx;
+    private final AtomicReference<Introduction> current = new AtomicReference<>();
 
-    public IntroductionService(IntroductionRepository repo) {
+    public IntroductionService(IntroductionRepository repo, IntroductionWriter writer,
+                               EntityPatchRepository patches, ObjectMapper mapper,
+                               PlatformTransactionManager txManager) {
         this.repo = repo;
+        this.writer = writer;
+        this.patches = patches;
+        this.mapper = mapper;
+        // commit 之後才會重新載入，所以開新的交易；有唯讀副本時也固定讀主資料庫
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tx.setReadOnly(true);
     }
 
+    /** 已寫入資料庫的介紹；資料庫還沒有時回傳空白內容，讀取時不會新增資料列 */
     public Introduction get() {
-        return repo.findById(1L).orElseGet(() -> {
-            Introduction intro = new Introduction();
-            intro.setLastUpdated(LocalDate.now());
-            intro.setContent("");
-            return repo.save(intro);
-        });
+        Introduction intro = current.get();
+        if (intro == null) {
+            intro = load();
+            // 載入期間剛好有寫入 commit 時，以 commit 後重新載入的為準
+            if (!current.compareAndSet(null, intro)) {
+                intro = current.get();
+            }
+        }
+        return intro;
     }
 
+    /** 更新內容，回傳即將寫入的那一份（寫入在時間窗結束時才發生） */
     public Introduction update(String content) {
-        Introduction intro = get();
+        Introduction intro = new Introduction();
         intro.setContent(content);
         intro.setLastUpdated(LocalDate.now());
-        return repo.save(intro);
+        writer.submit(intro);
+        return intro;
+    }
+
+    /** JSON Merge Patch：套用在最新的一份（含還沒寫入的編輯）上，lastUpdated 一律設成今天 */
+    public Introduction patch(ObjectNode patch) {
+        Set<String> allowed = patches.patchableAttributes(Introduction.class).keySet();
+        for (Iterator<String> it = patch.fieldNames(); it.hasNext(); ) {
+            String field = it.next();
+            if (!field.equals("id") && !allowed.contains(field)) {
+                throw new EntityPatchRepository.InvalidPatchException(
+                        "Field '" + field + "' cannot be patched, allowed: " + allowed);
+            }
+        }
+        ObjectNode merged = mapper.valueToTree(writer.pending().orElseGet(this::get));
+        merged.setAll(patch);
+        Introduction intro;
+        try {
+            intro = mapper.treeToValue(merged, Introduction.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new EntityPatchRepository.InvalidPatchException("Invalid introduction patch: " + e.getMessage());
+        }
+        intro.setId(1L);
+        intro.setLastUpdated(LocalDate.now());
+        writer.submit(intro);
+        return intro;
+    }
+
+    /** 寫入（或大量匯入）commit 之後重新載入；要比 PortfolioService 先執行 */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        if (event.section() == Section.INTRODUCTION) {
+            current.set(load());
+        }
+    }
+
+    private Introduction load() {
+        return ReplicaRoutingDataSource.onPrimary(() -> tx.execute(status ->
+                repo.findById(1L).orElseGet(() -> {
+                    Introduction intro = new Introduction();
+                    intro.setLastUpdated(LocalDate.now());
+                    intro.setContent("");
+                    return intro;
+                })));
     }
 }
@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Introduction;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 自我介紹的合併寫入：編輯器每次 debounce 都會送一次更新，這裡只保留最新的一份，
+ * 每個時間窗（portfolio.introduction.write-window）最多寫一次資料庫，以一條 upsert 寫入。
+ * 關閉時（web server 停止之後）立刻把還沒寫的寫出去。
+ */
+@Component
+public class IntroductionWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(IntroductionWriter.class);
+
+    /**
+     * content 是 @Lob，PostgreSQL 存的是 large object 的 OID；每次寫入都建一個新的，
+     * 同一條語句裡把被換掉的那個 lo_unlink，不然每次 flush 都留下一個孤兒。
+     * WITH 裡的 INSERT 不論主查詢有沒有用到都會執行；previous 看到的是寫入前的那一列
+     */
+    private static final String POSTGRES_UPSERT = """
+            WITH previous AS (
+                SELECT content FROM introductions WHERE id = ? FOR UPDATE
+            ), upsert AS (
+                INSERT INTO introductions (id, content, last_updated)
+                VALUES (?, lo_from_bytea(0, convert_to(?, 'UTF8')), ?)
+                ON CONFLICT (id) DO UPDATE SET content = EXCLUDED.content, last_updated = EXCLUDED.last_updated
+            )
+            SELECT lo_unlink(content) FROM previous WHERE content IS NOT NULL
+            """;
+    private static final String H2_UPSERT =
+            "MERGE INTO introductions (id, content, last_updated) KEY (id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final Duration window;
+
+    private final AtomicReference<Introduction> pending = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    /** 同時只有一個 flush；不用 synchronized，虛擬執行緒等 JDBC 時才不會佔住平台執行緒 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile ScheduledExecutorService scheduler;
+    private volatile Boolean postgres;
+
+    public IntroductionWriter(JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                              ApplicationEventPublisher events, MetricsRegistry metrics,
+                              @Value("${portfolio.introduction.write-window:2s}") Duration window) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.events = events;
+        this.window = window;
+        metrics.registerGauge("portfolio_introduction_edits_total", "Introduction edits accepted", submitted::sum);
+        metrics.registerGauge("portfolio_introduction_writes_total", "Introduction upserts written to the database", written::sum);
+    }
+
+    /** 交給背景寫入；同一個時間窗內的多次編輯只會寫最後一份。沒有時間窗或已經關閉時直接寫入 */
+    public void submit(Introduction intro) {
+        pending.set(intro);
+        submitted.increment();
+        ScheduledExecutorService s = scheduler;
+        if (s == null || window.isZero()) {
+            flush();
+        } else if (scheduled.compareAndSet(false, true)) {
+            s.schedule(this::scheduledFlush, window.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** 還沒寫進資料庫的最新一份 */
+    public Optional<Introduction> pending() {
+        return Optional.ofNullable(pending.get());
+    }
+
+    /** 把最新一份寫進資料庫；commit 之後發出 INTRODUCTION 變更，快取才會更新 */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Introduction intro = pending.get();
+            if (intro == null) {
+                return;
+            }
+            tx.executeWithoutResult(status -> {
+                Date lastUpdated = Date.valueOf(intro.getLastUpdated());
+                if (isPostgres()) {
+                    // 回傳 lo_unlink 的結果，不能用 update
+                    jdbc.query(POSTGRES_UPSERT, rs -> null, 1L, 1L, intro.getContent(), lastUpdated);
+                } else {
+                    jdbc.update(H2_UPSERT, 1L, intro.getContent(), lastUpdated);
+                }
+                events.publishEvent(SectionChangedEvent.updated(Section.INTRODUCTION, 1L));
+            });
+            written.increment();
+            // 寫入期間又有新的編輯就留著，由那次編輯排定的下一個時間窗寫
+            pending.compareAndSet(intro, null);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void scheduledFlush() {
+        scheduled.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to write introduction, retrying in {}", window, e);
+            ScheduledExecutorService s = scheduler;
+            if (s != null && scheduled.compareAndSet(false, true)) {
+                s.schedule(this::scheduledFlush, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean pg = postgres;
+        if (pg == null) {
+            String product = jdbc.execute((Connection con) -> con.getMetaData().getDatabaseProductName());
+            pg = postgres = "PostgreSQL".equals(product);
+        }
+        return pg;
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "introduction-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService s = scheduler;
+        scheduler = null;
+        if (s != null) {
+            s.shutdownNow();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to write introduction on shutdown, last edit lost", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /** 比 web server 晚停止，關閉過程中最後送進來的編輯也會寫入 */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
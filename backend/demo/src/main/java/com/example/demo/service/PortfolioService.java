@@ -0,0 +1,158 @@
+// src/main/java/com/example/demo/service/PortfolioService.java
+package com.example.demo.service;
+
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 首頁一次載入所需的所有區塊，彙整成一份序列化好的 JSON。
+ * 每個區塊各自快取序列化結果，只有 Service 寫入後對應的區塊才會重建。
+ */
+@Service
+public class PortfolioService {
+
+    private final Map<Section, Supplier<Object>> loaders = new EnumMap<>(Section.class);
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate tx;
+    private final ObjectMapper mapper;
+
+    /** 目前的快取狀態；每次失效都換成新的物件，重建時用 CAS 避免覆蓋掉較新的失效 */
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.EMPTY);
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public PortfolioService(IntroductionService introductionService,
+                            ProjectService projectService,
+                            SkillService skillService,
+                            CategoryService categoryService,
+                            EducationService educationService,
+                            WorkExperienceService workExperienceService,
+                            AwardService awardService,
+                            CertificationService certificationService,
+                            ActivityService activityService,
+                            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                            PlatformTransactionManager txManager,
+                            ObjectMapper mapper) {
+        loaders.put(Section.INTRODUCTION, introductionService::get);
+        loaders.put(Section.PROJECTS, projectService::findAll);
+        loaders.put(Section.SKILLS, skillService::listAll);
+        loaders.put(Section.CATEGORIES, categoryService::listAll);
+        loaders.put(Section.EDUCATIONS, educationService::listAll);
+        loaders.put(Section.EXPERIENCES, workExperienceService::listAll);
+        loaders.put(Section.AWARDS, awardService::getAll);
+        loaders.put(Section.CERTIFICATIONS, certificationService::getAll);
+        loaders.put(Section.ACTIVITIES, activityService::findAll);
+        this.executor = executor;
+        this.tx = new TransactionTemplate(txManager);
+        this.mapper = mapper;
+    }
+
+    /** 取得整份彙整 JSON；有快取直接回傳，否則平行載入缺少的區塊 */
+    public byte[] getSnapshot() {
+        byte[] cached = state.get().json;
+        if (cached != null) {
+            return cached;
+        }
+        rebuildLock.lock();
+        try {
+            Snapshot current = state.get();
+            if (current.json != null) {
+                return current.json;
+            }
+            return rebuild(current);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private byte[] rebuild(Snapshot current) {
+        Map<Section, CompletableFuture<byte[]>> pending = new EnumMap<>(Section.class);
+        for (Section section : Section.values()) {
+            if (!current.sections.containsKey(section)) {
+                Supplier<Object> loader = loaders.get(section);
+                // 每個區塊在自己的交易裡載入並序列化，lazy 的集合才能在同一個 session 內讀完
+                pending.put(section, CompletableFuture.supplyAsync(
+                        () -> tx.execute(status -> serialize(loader.get())), executor));
+            }
+        }
+
+        Map<Section, byte[]> sections = new EnumMap<>(Section.class);
+        sections.putAll(current.sections);
+        try {
+            pending.forEach((section, future) -> sections.put(section, future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+
+        byte[] json = assemble(sections);
+        // 重建期間若有區塊被失效，state 已經換掉，這次的結果只回給呼叫端、不寫回快取
+        state.compareAndSet(current, new Snapshot(sections, json));
+        return json;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] assemble(Map<Section, byte[]> sections) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                sections.values().stream().mapToInt(b -> b.length + 32).sum() + 2);
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<Section, byte[]> e : sections.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            out.writeBytes(("\"" + e.getKey().getKey() + "\":").getBytes(StandardCharsets.UTF_8));
+            out.writeBytes(e.getValue());
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    /** Service 寫入 commit 之後，丟掉受影響區塊的快取（要在 SectionVersions 換 ETag 之前） */
+    @Order(Ordered.LOWEST_PRECEDENCE - 2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSectionChanged(SectionChangedEvent event) {
+        state.updateAndGet(s -> s.without(event.section()));
+    }
+
+    private record Snapshot(Map<Section, byte[]> sections, byte[] json) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), null);
+
+        Snapshot without(Section changed) {
+            Map<Section, byte[]> rest = new EnumMap<>(Section.class);
+            rest.putAll(sections);
+            rest.keySet().removeAll(changed.affected());
+            return new Snapshot(rest, null);
+        }
+    }
+}
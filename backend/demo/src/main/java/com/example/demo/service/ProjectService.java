@@ -1,32 +1,130 @@
 // src/main/java/com/example/demo/service/ProjectService.java
 package com.example.demo.service;
 
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.Project;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.EntityPatchRepository;
+import com.example.demo.repository.FieldProjectionRepository;
 import com.example.demo.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class ProjectService {
     @Autowired
     private ProjectRepository projectRepository;
+    @Autowired
+    private ApplicationEventPublisher events;
+    @Autowired
+    private ReadModel readModel;
+    @Autowired
+    private FieldProjectionRepository projections;
+    @Autowired
+    private EntityPatchRepository patches;
+    @Autowired
+    private JdbcTemplate jdbc;
 
     public List<Project> findAll() {
-        return projectRepository.findAll();
+        return readModel.projects().all();
+    }
+
+    /** 游標分頁：取 id 大於 afterId 的前 count 筆（依 id 排序） */
+    @Transactional(readOnly = true)
+    public List<Project> findAfter(long afterId, int count) {
+        return projectRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(count));
+    }
+
+    /** 列表卡片用的精簡欄位 */
+    public static final List<String> SUMMARY_FIELDS = List.of("name", "imageUrl", "year", "projectUrl");
+
+    /** 只取指定欄位，SQL 只會 SELECT 這些欄位 */
+    public List<Map<String, Object>> listFields(List<String> fields) {
+        return projections.findAll(Project.class, fields);
+    }
+
+    public List<Map<String, Object>> listSummaries() {
+        return listFields(SUMMARY_FIELDS);
     }
 
     public Optional<Project> findById(Long id) {
-        return projectRepository.findById(id);
+        return readModel.projects().find(id);
     }
 
+    @Transactional
     public Project save(Project project) {
-        return projectRepository.save(project);
+        boolean isNew = project.getId() == null;
+        Project saved = projectRepository.save(project);
+        events.publishEvent(isNew
+                ? SectionChangedEvent.created(Section.PROJECTS, saved.getId())
+                : SectionChangedEvent.updated(Section.PROJECTS, saved.getId()));
+        return saved;
+    }
+
+    /** 依 id 整筆更新專案（一條 UPDATE，不先讀出來）；回傳這筆是否存在，更新後的內容在 commit 後由 findById 取得 */
+    @Transactional
+    public boolean update(Long id, Project data) {
+        if (patches.replace(Project.class, id, data) == 0) {
+            return false;
+        }
+        replaceTechnologies(id, data.getTechnologies());
+        events.publishEvent(SectionChangedEvent.updated(Section.PROJECTS, id));
+        return true;
+    }
+
+    /**
+     * JSON Merge Patch：只改有給的欄位，一條 UPDATE；technologies 有給時整組取代。
+     * 回傳這筆是否存在
+     */
+    @Transactional
+    public boolean patch(Long id, ObjectNode patch) {
+        JsonNode technologies = patch.remove("technologies");
+        if (patches.mergePatch(Project.class, id, patch) == 0) {
+            return false;
+        }
+        if (technologies != null) {
+            if (!technologies.isNull() && !technologies.isArray()) {
+                throw new EntityPatchRepository.InvalidPatchException("Field 'technologies' must be an array");
+            }
+            List<String> values = new ArrayList<>();
+            technologies.forEach(t -> values.add(t.asText()));
+            replaceTechnologies(id, values);
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.PROJECTS, id));
+        return true;
+    }
+
+    /** project_technologies 整組換掉：一條 DELETE 加一次批次 INSERT，不必先載入集合 */
+    private void replaceTechnologies(Long id, List<String> technologies) {
+        jdbc.update("DELETE FROM project_technologies WHERE project_id = ?", id);
+        if (technologies != null && !technologies.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO project_technologies (project_id, technology) VALUES (?, ?)",
+                    technologies, technologies.size(), (ps, technology) -> {
+                        ps.setLong(1, id);
+                        ps.setString(2, technology);
+                    });
+        }
     }
 
-    public void deleteById(Long id) {
-        projectRepository.deleteById(id);
+    /** 刪除專案，回傳是否真的有刪到 */
+    @Transactional
+    public boolean deleteById(Long id) {
+        if (projectRepository.deleteRowById(id) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.deleted(Section.PROJECTS, id));
+        return true;
     }
 }
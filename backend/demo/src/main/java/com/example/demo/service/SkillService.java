@@ -1,55 +1,101 @@
 // src/main/java/com/example/demo/service/SkillService.java
 package com.example.demo.service;
 
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.Category;
 import com.example.demo.entity.Skill;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
 import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.EntityPatchRepository;
 import com.example.demo.repository.SkillRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityNotFoundException;  // ← 注意這裡
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class SkillService {
 
     private final SkillRepository skillRepo;
     private final CategoryRepository categoryRepo;
+    private final ApplicationEventPublisher events;
+    private final ReadModel readModel;
+    private final EntityPatchRepository patches;
 
     public SkillService(SkillRepository skillRepo,
-                        CategoryRepository categoryRepo) {
+                        CategoryRepository categoryRepo,
+                        ApplicationEventPublisher events,
+                        ReadModel readModel,
+                        EntityPatchRepository patches) {
         this.skillRepo = skillRepo;
         this.categoryRepo = categoryRepo;
+        this.events = events;
+        this.readModel = readModel;
+        this.patches = patches;
     }
 
     public List<Skill> listAll() {
-        return skillRepo.findAll();
+        return readModel.skills().all();
     }
 
+    public Optional<Skill> findById(Long id) {
+        return readModel.skills().find(id);
+    }
+
+    @Transactional
     public Skill create(String name, String description, Long categoryId) {
         Category cat = categoryRepo.findById(categoryId)
             .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryId));
-        Skill s = new Skill(name, description, cat);
-        return skillRepo.save(s);
+        Skill s = skillRepo.save(new Skill(name, description, cat));
+        events.publishEvent(SectionChangedEvent.created(Section.SKILLS, s.getId()));
+        return s;
     }
 
-    public Skill update(Long skillId,
-                        String name,
-                        String description,
-                        Long categoryId) {
-        Skill s = skillRepo.findById(skillId)
-            .orElseThrow(() -> new EntityNotFoundException("Skill not found: " + skillId));
-        Category cat = categoryRepo.findById(categoryId)
-            .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryId));
-        s.setName(name);
-        s.setDescription(description);
-        s.setCategory(cat);
-        return skillRepo.save(s);
+    /**
+     * 整筆更新（一條 UPDATE，分類是否存在也在同一條裡確認）。更新後的內容在 commit 後由 findById 取得。
+     * 沒有更新到時才再查一次分類，分辨是分類還是技能不存在
+     */
+    @Transactional
+    public void update(Long skillId,
+                       String name,
+                       String description,
+                       Long categoryId) {
+        int updated;
+        try {
+            updated = skillRepo.replaceRow(skillId, name, description, categoryRepo.getReferenceById(categoryId), categoryId);
+        } catch (DataIntegrityViolationException e) {
+            // 與 PATCH 一樣，例如 name 是 null；訊息含 SQL，不放進回應
+            throw new EntityPatchRepository.InvalidPatchException("Update violates a constraint", e);
+        }
+        if (updated == 0) {
+            if (!categoryRepo.existsById(categoryId)) {
+                throw new EntityNotFoundException("Category not found: " + categoryId);
+            }
+            throw new EntityNotFoundException("Skill not found: " + skillId);
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.SKILLS, skillId));
     }
 
+    /** JSON Merge Patch：只改有給的欄位（換分類用 categoryId），一條 UPDATE；回傳這筆是否存在 */
+    @Transactional
+    public boolean patch(Long id, ObjectNode patch) {
+        if (patches.mergePatch(Skill.class, id, patch) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.SKILLS, id));
+        return true;
+    }
+
+    @Transactional
     public void delete(Long id) {
-        skillRepo.deleteById(id);
+        if (skillRepo.deleteRowById(id) > 0) {
+            events.publishEvent(SectionChangedEvent.deleted(Section.SKILLS, id));
+        }
     }
 }
-
-
@@ -1,51 +1,96 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.ReadModel;
 import com.example.demo.entity.WorkExperience;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.repository.EntityPatchRepository;
+import com.example.demo.repository.FieldProjectionRepository;
 import com.example.demo.repository.WorkExperienceRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class WorkExperienceService {
 
     private final WorkExperienceRepository repo;
+    private final ApplicationEventPublisher events;
+    private final ReadModel readModel;
+    private final FieldProjectionRepository projections;
+    private final EntityPatchRepository patches;
 
-    public WorkExperienceService(WorkExperienceRepository repo) {
+    public WorkExperienceService(WorkExperienceRepository repo, ApplicationEventPublisher events, ReadModel readModel,
+            FieldProjectionRepository projections, EntityPatchRepository patches) {
         this.repo = repo;
+        this.events = events;
+        this.readModel = readModel;
+        this.projections = projections;
+        this.patches = patches;
     }
 
     public List<WorkExperience> listAll() {
-        return repo.findAll();
+        return readModel.experiences().all();
+    }
+
+    /** 列表卡片用的精簡欄位 */
+    public static final List<String> SUMMARY_FIELDS = List.of("company", "position", "logoUrl", "startDate", "endDate", "location");
+
+    /** 只取指定欄位，SQL 只會 SELECT 這些欄位 */
+    public List<Map<String, Object>> listFields(List<String> fields) {
+        return projections.findAll(WorkExperience.class, fields);
+    }
+
+    public List<Map<String, Object>> listSummaries() {
+        return listFields(SUMMARY_FIELDS);
     }
 
     public WorkExperience getById(Long id) {
-        return repo.findById(id)
+        return readModel.experiences().find(id)
             .orElseThrow(() -> new EntityNotFoundException("WorkExperience not found: " + id));
     }
 
+    @Transactional
     public WorkExperience create(WorkExperience exp) {
-        return repo.save(exp);
+        WorkExperience saved = repo.save(exp);
+        events.publishEvent(SectionChangedEvent.created(Section.EXPERIENCES, saved.getId()));
+        return saved;
+    }
+
+    /** 整筆更新（一條 UPDATE，不先讀出來），更新後的內容在 commit 後由 getById 取得 */
+    @Transactional
+    public void update(Long id, WorkExperience exp) {
+        if (patches.replace(WorkExperience.class, id, exp) == 0) {
+            throw new EntityNotFoundException("WorkExperience not found: " + id);
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.EXPERIENCES, id));
+    }
+
+    /** JSON Merge Patch：只改有給的欄位，一條 UPDATE；回傳這筆是否存在 */
+    @Transactional
+    public boolean patch(Long id, ObjectNode patch) {
+        if (patches.mergePatch(WorkExperience.class, id, patch) == 0) {
+            return false;
+        }
+        events.publishEvent(SectionChangedEvent.updated(Section.EXPERIENCES, id));
+        return true;
     }
 
-    public WorkExperience update(Long id, WorkExperience exp) {
-        WorkExperience existing = getById(id);
-        existing.setCompany(exp.getCompany());
-        existing.setPosition(exp.getPosition());
-        existing.setLogoUrl(exp.getLogoUrl());
-        existing.setStartDate(exp.getStartDate());
-        existing.setEndDate(exp.getEndDate());
-        existing.setLocation(exp.getLocation());
-        existing.setDescription(exp.getDescription());
-        existing.setSkills(exp.getSkills());
-        return repo.save(existing);
+    public Optional<WorkExperience> findById(Long id) {
+        return readModel.experiences().find(id);
     }
 
+    @Transactional
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
+        if (repo.deleteRowById(id) == 0) {
             throw new EntityNotFoundException("Cannot delete, WorkExperience not found: " + id);
         }
-        repo.deleteById(id);
+        events.publishEvent(SectionChangedEvent.deleted(Section.EXPERIENCES, id));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+-- schema-postgresql.sql 的 H2 版本：@Lob 欄位在 PostgreSQL 是 oid，H2 要用 clob。
+-- 用在 SchemaScriptTests 與 Dockerfile.fast 建置映像時的 CDS 訓練執行。
+
+CREATE TABLE IF NOT EXISTS introductions (
+    last_updated date,
+    id bigint not null,
+    content clob,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS category (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS skill (
+    category_id bigint not null,
+    id bigint generated by default as identity,
+    description varchar(255),
+    name varchar(255) not null,
+    primary key (id),
+    constraint FKo8lkuqnhwp7dfgbcled32fk4d foreign key (category_id) references category
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id bigint generated by default as identity,
+    project_url varchar(500),
+    description varchar(1000),
+    image_url varchar(255),
+    name varchar(255),
+    year varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS project_technologies (
+    project_id bigint not null,
+    technology varchar(255),
+    constraint FKm4n7vw6u2ilmq85adm4igx3m1 foreign key (project_id) references projects
+);
+
+CREATE TABLE IF NOT EXISTS educations (
+    id bigint generated by default as identity,
+    city varchar(255),
+    degree varchar(255),
+    district varchar(255),
+    end_date varchar(255),
+    gpa varchar(255),
+    level varchar(255),
+    school varchar(255),
+    start_date varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS work_experiences (
+    id bigint generated by default as identity,
+    company varchar(255),
+    description TEXT,
+    end_date varchar(255),
+    location varchar(255),
+    logo_url varchar(255),
+    position varchar(255),
+    skills TEXT,
+    start_date varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS awards (
+    id bigint generated by default as identity,
+    date varchar(20),
+    image_url varchar(500),
+    description varchar(1000),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS certifications (
+    id bigint generated by default as identity,
+    date varchar(20),
+    image_url varchar(500),
+    description varchar(1000),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS activities (
+    id bigint generated by default as identity,
+    date varchar(255),
+    image_url varchar(255),
+    title varchar(255),
+    description clob,
+    primary key (id)
+);
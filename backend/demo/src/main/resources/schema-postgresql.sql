@@ -0,0 +1,94 @@
+-- 快速啟動（fast profile）用的資料表定義：ddl-auto=none，啟動時不再比對 schema，只執行這支可重複執行的腳本。
+-- 內容與 Hibernate 依 entity 產生的 PostgreSQL DDL 相同（包含外鍵名稱），既有以 ddl-auto=update 建立的資料庫不受影響。
+-- 修改 entity 時要一併更新這裡與 schema-h2.sql；SchemaScriptTests 會以 ddl-auto=validate 檢查。
+
+CREATE TABLE IF NOT EXISTS introductions (
+    last_updated date,
+    id bigint not null,
+    content oid,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS category (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS skill (
+    category_id bigint not null,
+    id bigint generated by default as identity,
+    description varchar(255),
+    name varchar(255) not null,
+    primary key (id),
+    constraint FKo8lkuqnhwp7dfgbcled32fk4d foreign key (category_id) references category
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id bigint generated by default as identity,
+    project_url varchar(500),
+    description varchar(1000),
+    image_url varchar(255),
+    name varchar(255),
+    year varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS project_technologies (
+    project_id bigint not null,
+    technology varchar(255),
+    constraint FKm4n7vw6u2ilmq85adm4igx3m1 foreign key (project_id) references projects
+);
+
+CREATE TABLE IF NOT EXISTS educations (
+    id bigint generated by default as identity,
+    city varchar(255),
+    degree varchar(255),
+    district varchar(255),
+    end_date varchar(255),
+    gpa varchar(255),
+    level varchar(255),
+    school varchar(255),
+    start_date varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS work_experiences (
+    id bigint generated by default as identity,
+    company varchar(255),
+    description TEXT,
+    end_date varchar(255),
+    location varchar(255),
+    logo_url varchar(255),
+    position varchar(255),
+    skills TEXT,
+    start_date varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS awards (
+    id bigint generated by default as identity,
+    date varchar(20),
+    image_url varchar(500),
+    description varchar(1000),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS certifications (
+    id bigint generated by default as identity,
+    date varchar(20),
+    image_url varchar(500),
+    description varchar(1000),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS activities (
+    id bigint generated by default as identity,
+    date varchar(255),
+    image_url varchar(255),
+    title varchar(255),
+    description oid,
+    primary key (id)
+);
@@ -0,0 +1,40 @@
+-- PostgreSQL 搜尋模式（portfolio.search.engine=postgres）啟動時執行，可重複執行。
+-- Hibernate 不知道這些欄位與索引（ddl-auto=update 也不會動到），由資料庫自行維護。
+-- 'simple' 設定不做詞幹還原，中英文都原樣切詞；中文沒有空白分隔，子字串比對交給 pg_trgm。
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS projects_search_idx ON projects USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS projects_name_trgm_idx ON projects USING gin (name gin_trgm_ops);
+
+ALTER TABLE work_experiences ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(company, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(position, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(skills, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS work_experiences_search_idx ON work_experiences USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS work_experiences_company_trgm_idx ON work_experiences USING gin (company gin_trgm_ops);
+
+-- activities.description 是 @Lob（PostgreSQL 上是 oid，存的是 large object 編號），
+-- 產生欄位讀不到內容，只能索引標題。
+ALTER TABLE activities ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS activities_search_idx ON activities USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS activities_title_trgm_idx ON activities USING gin (title gin_trgm_ops);
+
+ALTER TABLE awards ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS awards_search_idx ON awards USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS awards_name_trgm_idx ON awards USING gin (name gin_trgm_ops);
@@ -0,0 +1,90 @@
+package com.example.demo.cache;
+
+import com.example.demo.metrics.MetricsRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTests {
+
+    private final RequestCoalescingFilter filter =
+            new RequestCoalescingFilter(true, Duration.ofSeconds(5), new MetricsRegistry());
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /** 模擬很慢的查詢：第一次呼叫卡住直到 release */
+    private final FilterChain slowHandler = (req, res) -> {
+        int n = handled.incrementAndGet();
+        entered.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        HttpServletResponse http = (HttpServletResponse) res;
+        http.setHeader("ETag", "\"projects-" + n + "\"");
+        http.setContentType("application/json");
+        http.getWriter().write("[{\"id\":" + n + "}]");
+    };
+
+    @Test
+    void concurrentIdenticalGetsShareOneResponse() throws Exception {
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(() -> run("/api/projects"));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<MockHttpServletResponse> follower = CompletableFuture.supplyAsync(() -> run("/api/projects"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (filter.getWaiting() == 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        assertThat(filter.getWaiting()).isEqualTo(1);
+        release.countDown();
+
+        MockHttpServletResponse first = leader.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse second = follower.get(5, TimeUnit.SECONDS);
+        assertThat(handled).hasValue(1);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("[{\"id\":1}]");
+        assertThat(second.getHeader("ETag")).isEqualTo("\"projects-1\"");
+        assertThat(second.getContentType()).startsWith("application/json");
+
+        // 完成之後進來的請求重新處理
+        run("/api/projects");
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    void streamingAndWritesAreNotCoalesced() {
+        release.countDown();
+        run("/api/events");
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/projects");
+        try {
+            filter.doFilter(post, new MockHttpServletResponse(), slowHandler);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        assertThat(handled).hasValue(2);
+    }
+
+    private MockHttpServletResponse run(String uri) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", uri), response, slowHandler);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
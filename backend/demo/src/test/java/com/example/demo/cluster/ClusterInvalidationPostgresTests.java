@@ -0,0 +1,126 @@
+package com.example.demo.cluster;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.cache.SectionVersions;
+import com.example.demo.entity.Category;
+import com.example.demo.event.Section;
+import com.example.demo.service.CategoryService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 兩個應用程式實例共用一個 PostgreSQL，走真正的 pg_notify 與 LISTEN 連線（H2 版只測得到輪詢）。
+ * 輪詢間隔設很長，變更只能靠通知或重連後的比對送到另一台。需要一個可以建表的 PostgreSQL 資料庫：
+ * PORTFOLIO_CLUSTER_PG_URL=jdbc:postgresql://localhost:5432/clusterdb PORTFOLIO_CLUSTER_PG_USER=... PORTFOLIO_CLUSTER_PG_PASSWORD=...
+ * mvn test -Dtest=ClusterInvalidationPostgresTests
+ * 沒設定環境變數時略過。
+ */
+@EnabledIfEnvironmentVariable(named = "PORTFOLIO_CLUSTER_PG_URL", matches = ".+")
+class ClusterInvalidationPostgresTests {
+
+    private static final String CHANNEL = "portfolio_sections_test";
+    private static final long TIMEOUT_MS = 10_000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start();
+        nodeB = start();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(DemoApplication.class).run(
+                "--spring.datasource.url=" + System.getenv("PORTFOLIO_CLUSTER_PG_URL"),
+                "--spring.datasource.username=" + System.getenv("PORTFOLIO_CLUSTER_PG_USER"),
+                "--spring.datasource.password=" + System.getenv("PORTFOLIO_CLUSTER_PG_PASSWORD"),
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--server.port=0",
+                "--portfolio.cluster.enabled=true",
+                "--portfolio.cluster.channel=" + CHANNEL,
+                "--portfolio.cluster.poll-interval=1h",
+                "--portfolio.cluster.reconnect-delay=1s");
+    }
+
+    @Test
+    void notificationReachesTheOtherNode() {
+        awaitListeners(2);
+        CategoryService a = nodeA.getBean(CategoryService.class);
+        CategoryService b = nodeB.getBean(CategoryService.class);
+
+        Category created = a.create("Notified");
+        try {
+            await(() -> b.findById(created.getId()).isPresent());
+            await(() -> etagsMatch(Section.CATEGORIES));
+
+            b.update(created.getId(), "Renamed");
+            await(() -> a.findById(created.getId()).map(Category::getName).filter("Renamed"::equals).isPresent());
+            await(() -> etagsMatch(Section.SKILLS));
+        } finally {
+            a.delete(created.getId());
+        }
+        await(() -> b.findById(created.getId()).isEmpty());
+    }
+
+    @Test
+    void changesMadeWhileDisconnectedArriveAfterReconnect() {
+        awaitListeners(2);
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+        CategoryService a = nodeA.getBean(CategoryService.class);
+        CategoryService b = nodeB.getBean(CategoryService.class);
+
+        // 切斷兩台的 LISTEN 連線；重連要等 reconnect-delay，這段時間的通知收不到
+        jdbc.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity "
+                + "WHERE query = 'LISTEN " + CHANNEL + "'");
+        Category created = a.create("While disconnected");
+        try {
+            awaitListeners(2);
+            await(() -> b.findById(created.getId()).isPresent());
+            await(() -> etagsMatch(Section.CATEGORIES));
+        } finally {
+            a.delete(created.getId());
+        }
+        await(() -> b.findById(created.getId()).isEmpty());
+    }
+
+    private static boolean etagsMatch(Section section) {
+        return nodeA.getBean(SectionVersions.class).etag(section)
+                .equals(nodeB.getBean(SectionVersions.class).etag(section));
+    }
+
+    private static void awaitListeners(int count) {
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+        await(() -> jdbc.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE query = 'LISTEN " + CHANNEL + "'",
+                Integer.class) == count);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met within %d ms", TIMEOUT_MS).isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.cluster;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.cache.SectionVersions;
+import com.example.demo.entity.Category;
+import com.example.demo.event.Section;
+import com.example.demo.service.CategoryService;
+import com.example.demo.service.ProjectService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 兩個應用程式實例共用同一個 H2 資料庫，模擬負載平衡後面的兩台後端。
+ * H2 沒有 NOTIFY，靠版本表追上；通知的處理直接呼叫 onNotification 驗證。
+ * 輪詢間隔設很長，由測試手動 catchUp，結果不受排程時間影響。
+ */
+class ClusterInvalidationTests {
+
+    private static final String URL = "jdbc:h2:mem:cluster;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start();
+        nodeB = start();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(DemoApplication.class).run(
+                "--spring.datasource.url=" + URL,
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--server.port=0",
+                "--portfolio.cluster.enabled=true",
+                "--portfolio.cluster.poll-interval=1h");
+    }
+
+    @Test
+    void writesOnOneNodeReachTheOther() {
+        CategoryService a = nodeA.getBean(CategoryService.class);
+        CategoryService b = nodeB.getBean(CategoryService.class);
+
+        Category created = a.create("Cluster");
+        assertThat(b.findById(created.getId())).isEmpty();
+        nodeB.getBean(ClusterInvalidation.class).catchUp();
+        assertThat(b.findById(created.getId())).map(Category::getName).contains("Cluster");
+
+        b.update(created.getId(), "Renamed");
+        nodeA.getBean(ClusterInvalidation.class).catchUp();
+        assertThat(a.findById(created.getId())).map(Category::getName).contains("Renamed");
+
+        a.delete(created.getId());
+        nodeB.getBean(ClusterInvalidation.class).catchUp();
+        assertThat(b.findById(created.getId())).isEmpty();
+    }
+
+    @Test
+    void nodesAgreeOnEtagsOnceCaughtUp() {
+        SectionVersions a = nodeA.getBean(SectionVersions.class);
+        SectionVersions b = nodeB.getBean(SectionVersions.class);
+        nodeA.getBean(ClusterInvalidation.class).catchUp();
+        nodeB.getBean(ClusterInvalidation.class).catchUp();
+        String before = a.etag(Section.SKILLS);
+
+        Category created = nodeA.getBean(CategoryService.class).create("Etag");
+        try {
+            // 分類變了，技能的 ETag 也要換
+            assertThat(a.etag(Section.SKILLS)).isNotEqualTo(before);
+            assertThat(b.etag(Section.CATEGORIES)).isNotEqualTo(a.etag(Section.CATEGORIES));
+
+            nodeB.getBean(ClusterInvalidation.class).catchUp();
+            for (Section section : Section.values()) {
+                assertThat(b.etag(section)).isEqualTo(a.etag(section));
+            }
+            assertThat(b.portfolioEtag()).isEqualTo(a.portfolioEtag());
+        } finally {
+            nodeA.getBean(CategoryService.class).delete(created.getId());
+        }
+    }
+
+    @Test
+    void notificationRefreshesOnlyTheChangedRow() {
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+        ProjectService b = nodeB.getBean(ProjectService.class);
+        ClusterInvalidation cluster = nodeB.getBean(ClusterInvalidation.class);
+        cluster.catchUp();
+
+        // 模擬另一個節點寫入並送出通知
+        jdbc.update("INSERT INTO projects (id, name) VALUES (4242, 'From elsewhere')");
+        jdbc.update("UPDATE section_versions SET version = version + 1 WHERE section = 'projects'");
+        long version = jdbc.queryForObject("SELECT version FROM section_versions WHERE section = 'projects'", Long.class);
+
+        cluster.onNotification("elsewhere projects " + version + " CREATE 4242");
+        assertThat(b.findById(4242L)).isPresent();
+
+        // 已經套用過的版本不會再處理
+        jdbc.update("DELETE FROM projects WHERE id = 4242");
+        cluster.onNotification("elsewhere projects " + version + " DELETE 4242");
+        assertThat(b.findById(4242L)).isPresent();
+        cluster.catchUp();
+        assertThat(b.findById(4242L)).isPresent();
+    }
+
+    @Test
+    void malformedNotificationsAreIgnored() {
+        ClusterInvalidation cluster = nodeB.getBean(ClusterInvalidation.class);
+        cluster.catchUp();
+        String before = nodeB.getBean(SectionVersions.class).etag(Section.PROJECTS);
+
+        // 在 LISTEN 迴圈裡丟出例外會斷線重連，所以一律只能略過
+        cluster.onNotification("elsewhere projects x UPDATE 1");
+        cluster.onNotification("elsewhere projects 99 RENAME 1");
+        cluster.onNotification("elsewhere projects 99 UPDATE one");
+        cluster.onNotification("elsewhere nothing 99 UPDATE 1");
+        cluster.onNotification("garbage");
+        assertThat(nodeB.getBean(SectionVersions.class).etag(Section.PROJECTS)).isEqualTo(before);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** 列表端點的查詢參數組合：不能同時成立的組合回 400，而不是 500 或默默忽略 */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListQueryTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void fieldsCannotBeCombinedWithOtherListModes() throws Exception {
+        mvc.perform(get("/api/projects").param("fields", "name").param("view", "summary"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/projects").param("fields", "name").param("limit", "5"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/projects").param("fields", "name").param("tech", "Java"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/educations").param("fields", "school").param("view", "summary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cursorWithoutLimitIsPagedWithDefaultLimit() throws Exception {
+        String cursor = KeysetPagination.cursor(0);
+        mvc.perform(get("/api/projects").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray());
+        mvc.perform(get("/api/awards").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray());
+        mvc.perform(get("/api/activities").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pagingCannotBeCombinedWithUnpagedModes() throws Exception {
+        mvc.perform(get("/api/projects").param("tech", "Java").param("limit", "5"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/certifications").param("view", "summary").param("after", KeysetPagination.cursor(0)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void singleListModesStillWork() throws Exception {
+        mvc.perform(get("/api/projects").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+        mvc.perform(get("/api/projects").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+}
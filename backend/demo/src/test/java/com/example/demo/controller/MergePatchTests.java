@@ -0,0 +1,177 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.Activity;
+import com.example.demo.entity.Project;
+import com.example.demo.entity.Skill;
+import com.example.demo.service.ActivityService;
+import com.example.demo.service.CategoryService;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.SkillService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MergePatchTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private SkillService skillService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void patchChangesOnlyGivenFieldsAndNullClearsThem() throws Exception {
+        Project p = projectService.save(new Project(null, "old", "desc",
+                new ArrayList<>(List.of("Java", "React")), "https://example.com/a.png", "2024", null));
+        try {
+            mvc.perform(patch("/api/projects/{id}", p.getId())
+                            .contentType(MergePatch.MEDIA_TYPE)
+                            .content("{\"name\":\"new\",\"imageUrl\":null,\"technologies\":[\"Go\"]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("new"))
+                    .andExpect(jsonPath("$.imageUrl").doesNotExist())
+                    .andExpect(jsonPath("$.description").value("desc"))
+                    .andExpect(jsonPath("$.year").value("2024"))
+                    .andExpect(jsonPath("$.technologies[0]").value("Go"));
+
+            assertThat(projectService.findById(p.getId())).get()
+                    .extracting(Project::getName, Project::getImageUrl)
+                    .containsExactly("new", null);
+        } finally {
+            projectService.deleteById(p.getId());
+        }
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndMissingRows() throws Exception {
+        Activity a = activityService.create(new Activity());
+        try {
+            mvc.perform(patch("/api/activities/{id}", a.getId())
+                            .contentType(MergePatch.MEDIA_TYPE)
+                            .content("{\"nope\":1}"))
+                    .andExpect(status().isBadRequest());
+            mvc.perform(patch("/api/activities/{id}", -1)
+                            .contentType(MergePatch.MEDIA_TYPE)
+                            .content("{\"title\":\"x\"}"))
+                    .andExpect(status().isNotFound());
+            mvc.perform(delete("/api/projects/{id}", -1))
+                    .andExpect(status().isNotFound());
+        } finally {
+            activityService.delete(a.getId());
+        }
+    }
+
+    @Test
+    void skillCategoryIsSetByForeignKeyOnly() throws Exception {
+        Long category = categoryService.create("patch-tests").getId();
+        Long other = categoryService.create("patch-tests-2").getId();
+        Long skill = skillService.create("Java", null, category).getId();
+        try {
+            mvc.perform(patch("/api/skills/{id}", skill)
+                            .contentType(MergePatch.MEDIA_TYPE)
+                            .content("{\"categoryId\":" + other + "}"))
+                    .andExpect(status().isOk());
+            assertThat(categoryService.findById(other).orElseThrow().getSkills())
+                    .extracting(s -> s.getId()).containsExactly(skill);
+
+            Throwable rejected = mvc.perform(patch("/api/skills/{id}", skill)
+                            .contentType(MergePatch.MEDIA_TYPE)
+                            .content("{\"categoryId\":-1}"))
+                    .andExpect(status().isBadRequest())
+                    .andReturn().getResolvedException();
+            // 資料庫的錯誤訊息（含 SQL）不回給前端
+            assertThat(rejected).hasMessage("Update violates a constraint");
+
+            // PUT 的分類不存在時與新增一樣回 Category not found；回應是 commit 後讀取模型裡的這筆
+            assertThatThrownBy(() -> skillService.update(skill, "Kotlin", null, -1L))
+                    .isInstanceOf(EntityNotFoundException.class)
+                    .hasMessageContaining("Category not found");
+            mvc.perform(put("/api/skills/{id}", skill)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Kotlin\",\"description\":\"JVM\",\"categoryId\":" + category + "}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(skill))
+                    .andExpect(jsonPath("$.name").value("Kotlin"));
+            // 分類檢查在同一條 UPDATE 裡，不另外查分類或技能
+            Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+            tx.executeWithoutResult(status -> {
+                stats.clear();
+                skillService.update(skill, "Kotlin", "JVM", category);
+                assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+                status.setRollbackOnly();
+            });
+            Skill updated = skillService.findById(skill).orElseThrow();
+            assertThat(updated).extracting(Skill::getName, Skill::getDescription).containsExactly("Kotlin", "JVM");
+            assertThat(updated.getCategory().getName()).isEqualTo("patch-tests");
+        } finally {
+            categoryService.delete(category);
+            categoryService.delete(other);
+        }
+        assertThat(skillService.findById(skill)).isEmpty();
+    }
+
+    @Test
+    void writesAreSingleStatements() throws Exception {
+        Activity a = activityService.create(new Activity());
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        ObjectNode patch = (ObjectNode) mapper.readTree("{\"title\":\"t\",\"date\":\"2025-01-01\"}");
+
+        // 不 commit，只算交易裡送出的 SQL（commit 後讀取模型的重載不算）
+        tx.executeWithoutResult(status -> {
+            stats.clear();
+            assertThat(activityService.patch(a.getId(), patch)).isTrue();
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+
+            stats.clear();
+            assertThat(activityService.update(a.getId(), new Activity())).isTrue();
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+
+            stats.clear();
+            assertThat(activityService.delete(a.getId())).isTrue();
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+        activityService.delete(a.getId());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 副本不做複寫（永遠落後），寫入之後沒有 cookie 的訪客也要在 max-lag 內讀主資料庫，
+ * 拿到的新 ETag 才會配上新資料；沒被寫過的區塊照樣讀副本。
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaLagTests.PRIMARY_URL,
+        "portfolio.replica.enabled=true",
+        "portfolio.replica.urls[0]=" + ReplicaLagTests.REPLICA_URL,
+        "portfolio.replica.read-your-writes=0s",
+        "portfolio.replica.max-lag=1h"
+})
+@AutoConfigureMockMvc
+class ReplicaLagTests {
+
+    private static final String H2_OPTIONS =
+            ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1";
+    static final String PRIMARY_URL = "jdbc:h2:mem:lag-primary" + H2_OPTIONS;
+    static final String REPLICA_URL = "jdbc:h2:mem:lag-replica" + H2_OPTIONS
+            + ";INIT=RUNSCRIPT FROM 'classpath:schema-h2.sql'";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @BeforeEach
+    void seedReplica() throws SQLException {
+        try (Connection con = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement st = con.createStatement()) {
+            st.executeUpdate("MERGE INTO projects (id, name) KEY (id) VALUES (1000, 'Replica only')");
+            st.executeUpdate("MERGE INTO awards (id, name) KEY (id) VALUES (1000, 'Replica award')");
+        }
+    }
+
+    @Test
+    void newEtagIsNeverPairedWithReplicaData() throws Exception {
+        mvc.perform(post("/api/projects")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Just written\",\"technologies\":[]}"))
+                .andExpect(status().isOk());
+
+        MvcResult read = mvc.perform(get("/api/projects").param("limit", "100")).andReturn();
+        assertThat(read.getResponse().getContentAsString()).contains("Just written").doesNotContain("Replica only");
+
+        String awards = mvc.perform(get("/api/awards").param("limit", "100"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(awards).contains("Replica award");
+    }
+}
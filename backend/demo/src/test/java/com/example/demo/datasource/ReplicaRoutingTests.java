@@ -0,0 +1,95 @@
+package com.example.demo.datasource;
+
+import com.example.demo.entity.Project;
+import com.example.demo.service.ProjectService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 兩個 H2（PostgreSQL 相容模式）分別當主資料庫與副本，副本不做複寫，
+ * 從查到的是哪一邊的資料判斷請求被送到哪裡。
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTests.PRIMARY_URL,
+        "portfolio.replica.enabled=true",
+        "portfolio.replica.urls[0]=" + ReplicaRoutingTests.REPLICA_URL,
+        "portfolio.replica.read-your-writes=30s",
+        // 只測 cookie；區塊寫入後全體走主資料庫的部分在 ReplicaLagTests
+        "portfolio.replica.max-lag=0s"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+    private static final String H2_OPTIONS =
+            ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1";
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary" + H2_OPTIONS;
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica" + H2_OPTIONS
+            + ";INIT=RUNSCRIPT FROM 'classpath:schema-h2.sql'";
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @BeforeEach
+    void seedReplica() throws SQLException {
+        try (Connection con = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement st = con.createStatement()) {
+            st.executeUpdate("MERGE INTO projects (id, name) KEY (id) VALUES (1000, 'Replica only')");
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaWhileReadModelStaysOnPrimary() {
+        Project saved = projectService.save(new Project(null, "Primary only", null, new ArrayList<>(), null, "2025", null));
+        try {
+            assertThat(names(projectService.findAfter(0, 100))).contains("Replica only").doesNotContain("Primary only");
+            assertThat(names(projectService.findAll())).contains("Primary only").doesNotContain("Replica only");
+        } finally {
+            projectService.deleteById(saved.getId());
+        }
+    }
+
+    @Test
+    void readsFollowOwnWritesWithinWindow() throws Exception {
+        MvcResult write = mvc.perform(post("/api/projects")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Just written\",\"technologies\":[]}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie cookie = write.getResponse().getCookie(ReadYourWritesInterceptor.COOKIE);
+        assertThat(cookie).isNotNull();
+
+        String own = mvc.perform(get("/api/projects").param("limit", "100").cookie(cookie))
+                .andReturn().getResponse().getContentAsString();
+        String others = mvc.perform(get("/api/projects").param("limit", "100"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(own).contains("Just written").doesNotContain("Replica only");
+        assertThat(others).contains("Replica only").doesNotContain("Just written");
+    }
+
+    private static List<String> names(List<Project> projects) {
+        return projects.stream().map(Project::getName).toList();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.demo.feed;
+
+import com.example.demo.cache.SectionVersions;
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.metrics.MetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTests {
+
+    private final SectionVersions versions = new SectionVersions();
+    private ChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        ChangeFeedProperties props = new ChangeFeedProperties();
+        props.setLogSize(4);
+        props.setSubscriberBuffer(3);
+        feed = new ChangeFeed(props, versions, new ObjectMapper(), new MetricsRegistry());
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void pushesCommittedChangesWithSectionVersion() throws IOException {
+        Recorder all = subscribe(Set.of(), null);
+        Recorder skills = subscribe(Set.of(Section.SKILLS), null);
+
+        publish(SectionChangedEvent.updated(Section.PROJECTS, 3L));
+        publish(SectionChangedEvent.deleted(Section.CATEGORIES, 7L));
+
+        waitUntil(() -> all.changes().size() == 3);
+        assertThat(all.changes()).containsExactly(
+                "{\"section\":\"projects\",\"id\":3,\"op\":\"UPDATE\",\"version\":1}",
+                "{\"section\":\"skills\",\"id\":null,\"op\":\"UPDATE\",\"version\":1}",
+                "{\"section\":\"categories\",\"id\":7,\"op\":\"DELETE\",\"version\":1}");
+        waitUntil(() -> skills.changes().size() == 1);
+    }
+
+    @Test
+    void resumesFromLastEventIdOrAsksForReset() throws IOException {
+        Recorder first = subscribe(Set.of(), null);
+        for (long id = 1; id <= 3; id++) {
+            publish(SectionChangedEvent.updated(Section.AWARDS, id));
+        }
+        waitUntil(() -> first.ids().size() == 3);
+
+        Recorder resumed = subscribe(Set.of(), first.ids().get(0));
+        waitUntil(() -> resumed.ids().size() == 2);
+        assertThat(resumed.ids()).isEqualTo(first.ids().subList(1, 3));
+
+        Recorder stale = subscribe(Set.of(), "other-boot-1");
+        waitUntil(() -> stale.text().contains("event:reset"));
+    }
+
+    @Test
+    void disconnectsSlowSubscriberWithoutBlockingOthers() throws IOException {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder slow = subscribe(Set.of(), null, release);
+        Recorder fast = subscribe(Set.of(), null);
+
+        for (long id = 1; id <= 6; id++) {
+            publish(SectionChangedEvent.updated(Section.ACTIVITIES, id));
+            int sent = (int) id;
+            waitUntil(() -> fast.changes().size() == sent);
+        }
+        assertThat(feed.getSubscriberCount()).isEqualTo(1);
+
+        release.countDown();
+        waitUntil(() -> slow.completed);
+        assertThat(slow.changes().size()).isLessThan(6);
+    }
+
+    @Test
+    void subscriberLimitHoldsUnderConcurrentConnects() throws Exception {
+        ChangeFeedProperties props = new ChangeFeedProperties();
+        props.setMaxSubscribers(2);
+        ChangeFeed limited = new ChangeFeed(props, versions, new ObjectMapper(), new MetricsRegistry());
+        limited.start();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                attempts.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        limited.subscribe(new Recorder(null), Set.of(), null);
+                        return true;
+                    } catch (ChangeFeed.TooManySubscribersException e) {
+                        return false;
+                    }
+                }));
+            }
+            go.countDown();
+            long accepted = 0;
+            for (Future<Boolean> attempt : attempts) {
+                accepted += attempt.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(accepted).isEqualTo(2);
+            assertThat(limited.getSubscriberCount()).isEqualTo(2);
+        } finally {
+            pool.shutdownNow();
+            limited.stop();
+        }
+
+        // 關閉後名額都還回來
+        limited.start();
+        try {
+            limited.subscribe(new Recorder(null), Set.of(), null);
+            limited.subscribe(new Recorder(null), Set.of(), null);
+            assertThat(limited.getSubscriberCount()).isEqualTo(2);
+        } finally {
+            limited.stop();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            LockSupport.parkNanos(10_000_000L);
+        }
+    }
+
+    private void publish(SectionChangedEvent event) {
+        versions.onSectionChanged(event);
+        feed.onSectionChanged(event);
+    }
+
+    private Recorder subscribe(Set<Section> sections, String lastEventId) throws IOException {
+        return subscribe(sections, lastEventId, null);
+    }
+
+    private Recorder subscribe(Set<Section> sections, String lastEventId, CountDownLatch gate) throws IOException {
+        Recorder recorder = new Recorder(gate);
+        feed.subscribe(recorder, sections, lastEventId);
+        return recorder;
+    }
+
+    /** 把送出的 SSE 內容記下來；有 gate 時第一次送出後就卡住，模擬收很慢的連線 */
+    private static final class Recorder extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+        volatile boolean completed;
+
+        Recorder(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            events.add(builder.build().stream().map(d -> d.getData().toString()).collect(Collectors.joining()));
+            if (gate != null && events.size() > 1) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String text() {
+            return String.join("", events);
+        }
+
+        List<String> changes() {
+            return events.stream().filter(e -> e.startsWith("id:") && e.contains("event:change"))
+                    .map(e -> e.substring(e.indexOf("data:") + 5).trim())
+                    .toList();
+        }
+
+        List<String> ids() {
+            return events.stream().filter(e -> e.contains("event:change"))
+                    .map(e -> e.substring(3, e.indexOf('\n')))
+                    .toList();
+        }
+    }
+}
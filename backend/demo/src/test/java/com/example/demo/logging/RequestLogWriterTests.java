@@ -0,0 +1,113 @@
+package com.example.demo.logging;
+
+import com.example.demo.aspect.RequestLoggingAspect;
+import com.example.demo.metrics.MetricsRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestLogWriterTests {
+
+    @TempDir
+    Path dir;
+
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    @Test
+    void fullBufferDropsInsteadOfBlocking() {
+        RequestLogProperties props = new RequestLogProperties();
+        props.setBufferSize(2);
+        // 沒有 start，沒有人消化佇列
+        RequestLogWriter writer = new RequestLogWriter(props, metrics);
+
+        for (int i = 0; i < 5; i++) {
+            writer.offer(event("/api/projects/" + i));
+        }
+        assertThat(writer.getEnqueued()).isEqualTo(2);
+        assertThat(writer.getQueued()).isEqualTo(2);
+        assertThat(writer.getDropped()).isEqualTo(3);
+        assertThat(metrics.gauges().get("portfolio_request_log_dropped_total").value().getAsLong()).isEqualTo(3);
+    }
+
+    @Test
+    void failedWriteCountsTheBatchAsDropped() {
+        RequestLogProperties props = new RequestLogProperties();
+        // 紀錄檔的位置是目錄，開檔一定失敗
+        props.setFile(dir.toString());
+        props.setFlushInterval(Duration.ofMillis(10));
+        RequestLogWriter writer = new RequestLogWriter(props, metrics);
+        writer.start();
+        try {
+            writer.offer(event("/api/projects"));
+            writer.offer(event("/api/skills"));
+            await(() -> writer.getDropped() == 2);
+        } finally {
+            writer.stop();
+        }
+        assertThat(writer.getWritten()).isZero();
+        assertThat(writer.getWriteErrors()).isPositive();
+        assertThat(metrics.gauges().get("portfolio_request_log_write_errors_total").value().getAsLong())
+                .isEqualTo(writer.getWriteErrors());
+    }
+
+    @Test
+    void sensitiveArgsAreRedactedBeforeWriting() throws Exception {
+        RequestLogProperties props = new RequestLogProperties();
+        Path file = dir.resolve("requests.jsonl");
+        props.setFile(file.toString());
+        props.setMaxArgLength(8);
+        RequestLogWriter writer = new RequestLogWriter(props, metrics);
+
+        RequestLoggingAspect aspect = new RequestLoggingAspect(writer, props);
+        ReflectionTestUtils.setField(aspect, "request", new MockHttpServletRequest("PUT", "/api/skills/1"));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Spring \"Boot\"");
+        body.put("Password", "hunter2");
+        body.put("token", "abc");
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.toShortString()).thenReturn("SkillController.update(..)");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[] {1L, body});
+
+        writer.start();
+        aspect.logRequestInfo(joinPoint);
+        // stop 會把佇列剩下的寫完
+        writer.stop();
+
+        String line = Files.readString(file);
+        assertThat(line).doesNotContain("hunter2").doesNotContain("abc")
+                .contains("Password=***", "token=***")
+                // 截斷之後再做 JSON 跳脫
+                .contains("name=Spring \\\"…(13)");
+        assertThat(writer.getWritten()).isEqualTo(1);
+    }
+
+    private static RequestLogEvent event(String uri) {
+        return new RequestLogEvent(System.currentTimeMillis(), "GET", uri, "call", "[]", "127.0.0.1");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
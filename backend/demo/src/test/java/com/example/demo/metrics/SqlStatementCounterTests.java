@@ -0,0 +1,45 @@
+package com.example.demo.metrics;
+
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import com.example.demo.service.PortfolioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementCounterTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MetricsRegistry registry;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Test
+    void countsStatementsFromParallelSectionLoads() throws Exception {
+        // 丟掉彙整快取，這次請求要在 applicationTaskExecutor 上重新載入各區塊
+        for (Section section : Section.values()) {
+            portfolioService.onSectionChanged(SectionChangedEvent.updated(section, null));
+        }
+        LatencyHistogram before = registry.sqlStatements("GET /api/portfolio");
+        long count = before.count();
+        long sum = before.sumMicros();
+
+        mvc.perform(get("/api/portfolio")).andExpect(status().isOk());
+
+        LatencyHistogram after = registry.sqlStatements("GET /api/portfolio");
+        assertThat(after.count()).isEqualTo(count + 1);
+        assertThat(after.sumMicros()).isGreaterThan(sum);
+    }
+}
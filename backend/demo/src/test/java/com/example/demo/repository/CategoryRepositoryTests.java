@@ -0,0 +1,75 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Skill;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CategoryRepositoryTests {
+
+    @Autowired
+    private CategoryRepository repo;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllWithSkillsRunsOneQueryRegardlessOfCategoryCount() {
+        assertThat(queriesToLoadAll(3)).isEqualTo(1);
+        assertThat(queriesToLoadAll(30)).isEqualTo(1);
+    }
+
+    @Test
+    void findWithSkillsByIdRunsOneQuery() {
+        Long id = seed(1, 5).get(0).getId();
+
+        stats.clear();
+        Category c = repo.findWithSkillsById(id).orElseThrow();
+        assertThat(c.getSkills()).hasSize(5);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private long queriesToLoadAll(int categories) {
+        repo.deleteAll();
+        seed(categories, 4);
+
+        stats.clear();
+        List<Category> all = repo.findAllWithSkillsBy();
+        assertThat(all).hasSize(categories);
+        all.forEach(c -> assertThat(c.getSkills()).hasSize(4));
+        return stats.getPrepareStatementCount();
+    }
+
+    private List<Category> seed(int categories, int skillsEach) {
+        List<Category> saved = new java.util.ArrayList<>();
+        for (int i = 0; i < categories; i++) {
+            Category c = new Category("cat-" + System.nanoTime() + "-" + i);
+            for (int j = 0; j < skillsEach; j++) {
+                c.getSkills().add(new Skill("skill-" + j, "desc", c));
+            }
+            saved.add(repo.save(c));
+        }
+        em.flush();
+        em.clear();
+        return saved;
+    }
+}
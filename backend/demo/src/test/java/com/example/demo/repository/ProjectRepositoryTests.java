@@ -0,0 +1,83 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Project;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProjectRepositoryTests {
+
+    @Autowired
+    private ProjectRepository repo;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllWithTechnologiesRunsOneQueryRegardlessOfProjectCount() {
+        assertThat(queriesToLoadAll(3)).isEqualTo(1);
+        assertThat(queriesToLoadAll(30)).isEqualTo(1);
+    }
+
+    @Test
+    void findWithTechnologiesByIdRunsOneQuery() {
+        Long id = seed(1).get(0).getId();
+
+        stats.clear();
+        Project p = repo.findWithTechnologiesById(id).orElseThrow();
+        assertThat(p.getTechnologies()).containsExactly("Java", "React", "PostgreSQL");
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void plainFindAllFallsBackToBatchFetching() {
+        repo.deleteAll();
+        seed(30);
+
+        stats.clear();
+        repo.findAll().forEach(p -> assertThat(p.getTechnologies()).hasSize(3));
+        // 1 次查專案 + 每 50 個專案 1 次補載 technologies
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private long queriesToLoadAll(int projects) {
+        repo.deleteAll();
+        seed(projects);
+
+        stats.clear();
+        List<Project> all = repo.findAllWithTechnologiesBy();
+        assertThat(all).hasSize(projects);
+        all.forEach(p -> assertThat(p.getTechnologies()).hasSize(3));
+        return stats.getPrepareStatementCount();
+    }
+
+    private List<Project> seed(int projects) {
+        List<Project> saved = new ArrayList<>();
+        for (int i = 0; i < projects; i++) {
+            saved.add(repo.save(new Project(null, "project-" + i, "desc",
+                    new ArrayList<>(List.of("Java", "React", "PostgreSQL")), null, "2024", null)));
+        }
+        em.flush();
+        em.clear();
+        return saved;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Project;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * fast profile 不讓 Hibernate 建表，資料表由 schema-*.sql 建立。
+ * 以 ddl-auto=validate 啟動：腳本與 entity 對不上時 context 會起不來。
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schema;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.platform=h2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaScriptTests {
+
+    @Autowired
+    private ProjectRepository projectRepo;
+
+    @Test
+    void scriptMatchesEntities() {
+        Project saved = projectRepo.save(new Project(null, "個人網站", "以 React 與 Spring Boot 製作",
+                new ArrayList<>(List.of("React", "Spring Boot")), null, "2024", null));
+        projectRepo.flush();
+
+        assertThat(projectRepo.findWithTechnologiesById(saved.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getTechnologies()).containsExactly("React", "Spring Boot"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Skill;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SkillRepositoryTests {
+
+    @Autowired
+    private SkillRepository skillRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void findAllWithCategoryRunsOneQueryAcrossCategories() {
+        for (int i = 0; i < 10; i++) {
+            Category c = new Category("cat-" + i);
+            c.getSkills().add(new Skill("a", null, c));
+            c.getSkills().add(new Skill("b", null, c));
+            categoryRepo.save(c);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        List<Skill> all = skillRepo.findAllWithCategoryBy();
+        assertThat(all).hasSize(20);
+        all.forEach(s -> assertThat(s.getCategory().getName()).startsWith("cat-"));
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
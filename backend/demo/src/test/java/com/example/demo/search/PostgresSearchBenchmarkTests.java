@@ -0,0 +1,93 @@
+package com.example.demo.search;
+
+import com.example.demo.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PostgreSQL 搜尋模式與單純 LIKE 掃描的延遲比較。需要一個可以清空的 PostgreSQL 資料庫：
+ * PORTFOLIO_BENCH_PG_URL=jdbc:postgresql://localhost:5432/benchdb PORTFOLIO_BENCH_PG_USER=... PORTFOLIO_BENCH_PG_PASSWORD=...
+ * mvn test -Dtest=PostgresSearchBenchmarkTests
+ * 沒設定環境變數時略過。
+ */
+@SpringBootTest(properties = "portfolio.search.engine=postgres")
+@EnabledIfEnvironmentVariable(named = "PORTFOLIO_BENCH_PG_URL", matches = ".+")
+class PostgresSearchBenchmarkTests {
+
+    private static final int ROWS = 50_000;
+    private static final int WARMUP = 200;
+    private static final int RUNS = 1_000;
+    private static final String[] WORDS = {"spring", "react", "docker", "kubernetes", "postgres", "vue",
+            "網站", "系統", "平台", "分析", "管理", "自動化", "機器學習", "資料庫"};
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("PORTFOLIO_BENCH_PG_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("PORTFOLIO_BENCH_PG_USER"));
+        registry.add("spring.datasource.password", () -> System.getenv("PORTFOLIO_BENCH_PG_PASSWORD"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private SearchEngine engine;
+
+    @Test
+    void fullTextSearchAgainstLikeScan() {
+        seed();
+        jdbc.execute("ANALYZE projects");
+
+        LatencyHistogram like = measure(() -> jdbc.queryForList(
+                "SELECT id FROM projects WHERE name ILIKE ? OR description ILIKE ? ORDER BY id LIMIT 20",
+                Long.class, "%kubernetes%", "%kubernetes%"));
+        LatencyHistogram fullText = measure(() -> engine.search("kubernetes", 20));
+
+        report("LIKE scan", like);
+        report("tsvector + GIN", fullText);
+        assertThat(engine.search("kubernetes", 20)).isNotEmpty();
+    }
+
+    private void seed() {
+        jdbc.update("DELETE FROM project_technologies");
+        jdbc.update("DELETE FROM projects");
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            String name = WORDS[i % WORDS.length] + " " + WORDS[(i * 7) % WORDS.length] + " " + i;
+            String description = String.join(" ", WORDS[(i * 3) % WORDS.length], WORDS[(i * 5) % WORDS.length],
+                    "project number", String.valueOf(i));
+            rows.add(new Object[] {name, description, String.valueOf(2000 + i % 25)});
+        }
+        jdbc.batchUpdate("INSERT INTO projects (name, description, year) VALUES (?, ?, ?)", rows);
+    }
+
+    private static LatencyHistogram measure(Supplier<?> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            histogram.recordNanos(System.nanoTime() - start);
+        }
+        return histogram;
+    }
+
+    private static void report(String name, LatencyHistogram h) {
+        System.out.printf("%-16s rows=%d p50=%dµs p99=%dµs max=%dµs%n",
+                name, ROWS, h.percentile(0.5), h.percentile(0.99), h.maxMicros());
+    }
+}
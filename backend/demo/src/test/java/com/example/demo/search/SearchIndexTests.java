@@ -0,0 +1,69 @@
+package com.example.demo.search;
+
+import com.example.demo.entity.Project;
+import com.example.demo.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SearchIndexTests {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private SearchIndex index;
+
+    @Test
+    void tokenizesLatinWordsAndCjkBigrams() {
+        assertThat(Tokenizer.tokenize("Spring Boot 個人網站 C++"))
+                .containsExactly("spring", "boot", "個人", "人網", "網站", "c++");
+        assertThat(Tokenizer.tokenize("ＲＥＡＣＴ")).containsExactly("react");
+        assertThat(Tokenizer.cjkCharacters("Spring 網站 人 C++")).containsExactly("網", "站");
+    }
+
+    @Test
+    void lowercasingIgnoresDefaultLocale() {
+        Locale original = Locale.getDefault();
+        // 土耳其語的 I 會轉成沒有點的 ı，索引與查詢就對不上
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertThat(Tokenizer.tokenize("LINUX CI")).containsExactly("linux", "ci");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void followsProjectWritesAndRanksByRelevance() {
+        Project portfolio = projectService.save(new Project(null, "個人網站", "以 React 與 Spring Boot 製作",
+                new ArrayList<>(List.of("React", "Spring Boot")), null, "2024", null));
+        Project game = projectService.save(new Project(null, "Snake Game", "網頁小遊戲",
+                new ArrayList<>(List.of("JavaScript")), null, "2023", null));
+        try {
+            assertThat(index.search("網站", 10)).extracting(SearchHit::id).containsExactly(portfolio.getId());
+            // 只打一個字：在詞尾的字也要找得到
+            assertThat(index.search("站", 10)).extracting(SearchHit::id).containsExactly(portfolio.getId());
+            assertThat(index.search("網", 10)).extracting(SearchHit::id)
+                    .containsExactlyInAnyOrder(portfolio.getId(), game.getId());
+            assertThat(index.search("reac", 10)).extracting(SearchHit::id).containsExactly(portfolio.getId());
+            assertThat(index.search("網頁 遊戲", 10)).first().extracting(SearchHit::id).isEqualTo(game.getId());
+
+            game.setName("Tetris");
+            projectService.save(game);
+            assertThat(index.search("snake", 10)).isEmpty();
+            assertThat(index.search("tetris", 10)).extracting(SearchHit::id).containsExactly(game.getId());
+        } finally {
+            projectService.deleteById(portfolio.getId());
+            projectService.deleteById(game.getId());
+        }
+        assertThat(index.search("網站 tetris", 10)).isEmpty();
+    }
+}
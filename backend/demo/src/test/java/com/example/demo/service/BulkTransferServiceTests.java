@@ -0,0 +1,56 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Project;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 批次設小，讓失敗前已經寫出過幾批
+@SpringBootTest(properties = "portfolio.bulk.batch-size=1")
+class BulkTransferServiceTests {
+
+    @Autowired
+    private BulkTransferService bulk;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void failedReplaceKeepsExistingData() {
+        Project kept = projectService.save(new Project(null, "Before import", null, new ArrayList<>(), null, "2025", null));
+        // 快取已經載入，失敗後重新載入看到的也要是原本的資料
+        assertThat(names()).contains("Before import");
+        String ndjson = """
+                {"type":"projects","data":{"id":9001,"name":"Imported","technologies":["Java"]}}
+                {"type":"projects","data":{"id":9002,"name":"Imported too","technologies":[]}}
+                {"type":"unknown","data":{}}
+                """;
+        try {
+            assertThatThrownBy(() -> bulk.importFrom(
+                    new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), true))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            assertThat(jdbc.queryForList("SELECT name FROM projects", String.class))
+                    .contains("Before import").doesNotContain("Imported", "Imported too");
+            assertThat(names()).contains("Before import").doesNotContain("Imported", "Imported too");
+        } finally {
+            projectService.deleteById(kept.getId());
+        }
+    }
+
+    private List<String> names() {
+        return projectService.findAll().stream().map(Project::getName).toList();
+    }
+}
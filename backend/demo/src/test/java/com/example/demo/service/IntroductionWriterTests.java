@@ -0,0 +1,76 @@
+package com.example.demo.service;
+
+import com.example.demo.event.Section;
+import com.example.demo.event.SectionChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 時間窗設很長，只有手動 flush 或關閉時才會寫入
+@SpringBootTest(properties = "portfolio.introduction.write-window=1h")
+class IntroductionWriterTests {
+
+    @Autowired
+    private IntroductionService service;
+
+    @Autowired
+    private IntroductionWriter writer;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void clear() {
+        writer.flush();
+        jdbc.update("DELETE FROM introductions");
+        service.onSectionChanged(SectionChangedEvent.updated(Section.INTRODUCTION, 1L));
+    }
+
+    @Test
+    void readingDoesNotInsertTheRow() {
+        assertThat(service.get().getContent()).isEmpty();
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void burstOfEditsBecomesOneUpsert() {
+        service.update("a");
+        service.update("ab");
+        assertThat(service.update("abc").getContent()).isEqualTo("abc");
+        assertThat(rows()).isZero();
+        assertThat(service.get().getContent()).isEmpty();
+
+        writer.flush();
+        assertThat(content()).isEqualTo("abc");
+        assertThat(service.get().getContent()).isEqualTo("abc");
+
+        // 第二次是更新既有的資料列
+        service.update("abcd");
+        writer.flush();
+        assertThat(rows()).isEqualTo(1);
+        assertThat(content()).isEqualTo("abcd");
+    }
+
+    @Test
+    void stopFlushesPendingEdit() {
+        service.update("before shutdown");
+        writer.stop();
+        try {
+            assertThat(content()).isEqualTo("before shutdown");
+        } finally {
+            writer.start();
+        }
+    }
+
+    private int rows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM introductions", Integer.class);
+    }
+
+    private String content() {
+        return jdbc.queryForObject("SELECT content FROM introductions WHERE id = 1", String.class);
+    }
+}
@@ -0,0 +1,29 @@
+// 為 dist 裡的文字資源預先產生 .gz 與 .br，讓後端（bundled 模式）直接送壓縮好的檔案，
+// 不必每個請求都重新壓縮。用法：npm run build:bundled
+import { readdir, readFile, writeFile, stat } from 'node:fs/promises'
+import { join, extname } from 'node:path'
+import { gzipSync, brotliCompressSync, constants } from 'node:zlib'
+
+const root = process.argv[2] ?? 'dist'
+const COMPRESSIBLE = new Set(['.js', '.mjs', '.css', '.html', '.svg', '.json', '.txt', '.xml', '.map', '.ico'])
+const MIN_SIZE = 1024
+
+async function* walk(dir) {
+  for (const entry of await readdir(dir, { withFileTypes: true })) {
+    const path = join(dir, entry.name)
+    if (entry.isDirectory()) yield* walk(path)
+    else yield path
+  }
+}
+
+let count = 0
+for await (const file of walk(root)) {
+  if (!COMPRESSIBLE.has(extname(file)) || (await stat(file)).size < MIN_SIZE) continue
+  const data = await readFile(file)
+  await writeFile(file + '.gz', gzipSync(data, { level: 9 }))
+  await writeFile(file + '.br', brotliCompressSync(data, {
+    params: { [constants.BROTLI_PARAM_QUALITY]: 11, [constants.BROTLI_PARAM_SIZE_HINT]: data.length },
+  }))
+  count++
+}
+console.log(`precompressed ${count} files in ${root}`)
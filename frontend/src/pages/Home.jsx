@@ -161,7 +161,7 @@ export default function Home() {
 
   // 抓取 categories + skills
   useEffect(() => {
-    fetch('http://localhost:8080/api/categories')
+    fetch('/api/categories')
       .then(res => res.json())
       .then(data => {
         const cats = data.map(cat => ({
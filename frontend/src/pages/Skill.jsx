@@ -36,7 +36,7 @@ export default function SkillsPage() {
   }, []);
 
   async function fetchCategories() {
-    const res = await fetch('http://localhost:8080/api/categories');
+    const res = await fetch('/api/categories');
     const data = await res.json();
     // map backend shape to frontend state
     setCategories(
@@ -55,7 +55,7 @@ export default function SkillsPage() {
   // Category CRUD
   async function addCategory() {
     if (!newCategoryName.trim()) return;
-    const res = await fetch('http://localhost:8080/api/categories', {
+    const res = await fetch('/api/categories', {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify({ name: newCategoryName.trim() })
@@ -66,14 +66,14 @@ export default function SkillsPage() {
   }
 
   async function deleteCategory() {
-    await fetch(`http://localhost:8080/api/categories/${delCatId}`, { method: 'DELETE' });
+    await fetch(`/api/categories/${delCatId}`, { method: 'DELETE' });
     setCategories(categories.filter(cat => cat.id !== delCatId));
     closeModalWithAnimation();
   }
 
   // Item CRUD
   async function addItem(catId, name, desc) {
-    const res = await fetch('http://localhost:8080/api/skills', {
+    const res = await fetch('/api/skills', {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify({ name, description: desc, categoryId: catId })
@@ -92,7 +92,7 @@ export default function SkillsPage() {
   async function updateItem() {
     const cat = categories.find(c => c.id === editCatId);
     const item = cat.items[editIndex];
-    const res = await fetch(`http://localhost:8080/api/skills/${item.id}`, {
+    const res = await fetch(`/api/skills/${item.id}`, {
       method: 'PUT',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify({ name: editName, description: editDesc, categoryId: editCatId })
@@ -111,7 +111,7 @@ export default function SkillsPage() {
   async function deleteItem() {
     const cat = categories.find(c => c.id === delItemCatId);
     const item = cat.items[delItemIndex];
-    await fetch(`http://localhost:8080/api/skills/${item.id}`, { method: 'DELETE' });
+    await fetch(`/api/skills/${item.id}`, { method: 'DELETE' });
     setCategories(
       categories.map(c =>
         c.id === delItemCatId